@@ -0,0 +1,118 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures ActivityRecordIO.writeActivityRecords() for schedules of different sizes.
+ * Every fourth activity is an event and the rest are courses from a synthetic catalog.
+ * Along with the number of schedules written each second, the megabytes and records
+ * written each second are reported as the megabytes and records counters.
+ *
+ * @author Michael Richardson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActivityRecordIOBenchmark {
+
+	/** Number of bytes in a megabyte */
+	private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+	/** Number of activities in the schedule */
+	@Param({"10", "100", "1000", "10000"})
+	private int scheduleSize;
+
+	/** Activities written */
+	private ArrayList<Activity> schedule;
+	/** File the schedule is written to */
+	private File file;
+	/** Number of bytes in the written file */
+	private long fileLength;
+
+	/**
+	 * Counts the megabytes and records written, which JMH reports per second.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		/** Megabytes written */
+		public double megabytes;
+		/** Activity records written */
+		public long records;
+
+		/**
+		 * Resets the counts before each iteration.
+		 */
+		@Setup(Level.Iteration)
+		public void reset() {
+			megabytes = 0;
+			records = 0;
+		}
+	}
+
+	/**
+	 * Builds the schedule and writes it once to find the length of the file.
+	 *
+	 * @throws IOException if a file cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		SyntheticCatalog catalog = new SyntheticCatalog(scheduleSize, 216);
+		schedule = new ArrayList<Activity>(CourseRecordIO.readCourseRecords(catalog.getFileName()));
+		for (int i = 0; i < scheduleSize; i += 4) {
+			schedule.set(i, new Event("Event " + i, "SU", 900, 1030, "Details of event " + i));
+		}
+		file = File.createTempFile("schedule", ".txt");
+		file.deleteOnExit();
+		ActivityRecordIO.writeActivityRecords(file.getPath(), schedule);
+		fileLength = file.length();
+	}
+
+	/**
+	 * Deletes the schedule file.
+	 */
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+
+	/**
+	 * Writes the schedule to the file.
+	 *
+	 * @param counters counts of what was written
+	 * @throws IOException if the file cannot be written
+	 */
+	@Benchmark
+	public void writeActivityRecords(Counters counters) throws IOException {
+		ActivityRecordIO.writeActivityRecords(file.getPath(), schedule);
+		counters.megabytes += fileLength / BYTES_PER_MEGABYTE;
+		counters.records += scheduleSize;
+	}
+
+}
@@ -0,0 +1,94 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures looking up courses in the catalog and listing the whole catalog, for
+ * catalogs of different sizes. Courses are looked up in a random order so the
+ * lookups do not all hit the same part of the catalog.
+ *
+ * @author Michael Richardson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CatalogBenchmark {
+
+	/** Number of courses looked up in turn */
+	private static final int LOOKUPS = 1024;
+
+	/** Number of sections in the catalog */
+	@Param({"1000", "10000", "100000"})
+	private int catalogSize;
+
+	/** Scheduler holding the catalog */
+	private WolfScheduler scheduler;
+	/** Names of the courses to look up */
+	private String[] names;
+	/** Sections of the courses to look up */
+	private String[] sections;
+	/** Index of the next course to look up */
+	private int next;
+
+	/**
+	 * Writes a catalog of catalogSize sections and loads it.
+	 *
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		SyntheticCatalog catalog = new SyntheticCatalog(catalogSize, 216);
+		scheduler = new WolfScheduler(catalog.getFileName());
+		Random random = new Random(316);
+		names = new String[LOOKUPS];
+		sections = new String[LOOKUPS];
+		for (int i = 0; i < LOOKUPS; i++) {
+			int index = random.nextInt(catalog.size());
+			names[i] = catalog.getName(index);
+			sections[i] = catalog.getSection(index);
+		}
+	}
+
+	/**
+	 * Looks up the next course in the catalog.
+	 *
+	 * @return the course found
+	 */
+	@Benchmark
+	public Course getCourseFromCatalog() {
+		next = (next + 1) % LOOKUPS;
+		return scheduler.getCourseFromCatalog(names[next], sections[next]);
+	}
+
+	/**
+	 * Lists the whole catalog.
+	 *
+	 * @return the rows of the catalog
+	 */
+	@Benchmark
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	public String[][] getCourseCatalog() {
+		return scheduler.getCourseCatalog();
+	}
+
+}
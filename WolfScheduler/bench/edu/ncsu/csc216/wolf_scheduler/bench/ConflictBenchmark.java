@@ -0,0 +1,82 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Measures Activity.checkConflict() for a pair of activities that conflict, which
+ * throws a ConflictException, and a pair that share days but not times.
+ *
+ * @author Michael Richardson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConflictBenchmark {
+
+	/** Course checked against the other activities */
+	private Activity course;
+	/** Event meeting at the same time as the course on two of its days */
+	private Activity conflicting;
+	/** Event meeting on the course's days, but after it ends */
+	private Activity notConflicting;
+
+	/**
+	 * Creates the activities.
+	 */
+	@Setup
+	public void setUp() {
+		course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MWF", 1330, 1445);
+		conflicting = new Event("Exercise", "MTWH", 1400, 1500, "");
+		notConflicting = new Event("Study", "MWF", 1500, 1600, "");
+	}
+
+	/**
+	 * Checks the course against the conflicting event.
+	 *
+	 * @return the exception thrown
+	 */
+	@Benchmark
+	public ConflictException checkConflictConflicting() {
+		try {
+			course.checkConflict(conflicting);
+			return null;
+		} catch (ConflictException e) {
+			return e;
+		}
+	}
+
+	/**
+	 * Checks the course against the event that does not conflict.
+	 *
+	 * @return the exception thrown, which should be null
+	 */
+	@Benchmark
+	public ConflictException checkConflictNotConflicting() {
+		try {
+			course.checkConflict(notConflicting);
+			return null;
+		} catch (ConflictException e) {
+			return e;
+		}
+	}
+
+}
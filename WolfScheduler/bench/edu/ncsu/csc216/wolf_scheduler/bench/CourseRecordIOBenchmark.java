@@ -0,0 +1,100 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.io.CourseRecordIO;
+
+/**
+ * Measures CourseRecordIO.readCourseRecords() for catalog files of different sizes
+ * and with different percents of invalid lines. Along with the number of files read
+ * each second, the megabytes and course records read each second are reported as the
+ * megabytes and records counters.
+ *
+ * @author Michael Richardson
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class CourseRecordIOBenchmark {
+
+	/** Number of bytes in a megabyte */
+	private static final double BYTES_PER_MEGABYTE = 1024 * 1024;
+
+	/** Number of lines in the catalog file */
+	@Param({"10000", "100000", "1000000"})
+	private int lines;
+	/** Percent of the lines that are invalid */
+	@Param({"0", "10", "50"})
+	private int invalidPercent;
+
+	/** Catalog file read */
+	private SyntheticCatalog catalog;
+
+	/**
+	 * Counts the megabytes and records read, which JMH reports per second.
+	 */
+	@State(Scope.Thread)
+	@AuxCounters(AuxCounters.Type.OPERATIONS)
+	public static class Counters {
+		/** Megabytes of the file read */
+		public double megabytes;
+		/** Lines of the file read, valid or not */
+		public long records;
+
+		/**
+		 * Resets the counts before each iteration.
+		 */
+		@Setup(Level.Iteration)
+		public void reset() {
+			megabytes = 0;
+			records = 0;
+		}
+	}
+
+	/**
+	 * Writes the catalog file.
+	 *
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		catalog = new SyntheticCatalog(lines, invalidPercent, 216);
+	}
+
+	/**
+	 * Reads the catalog file.
+	 *
+	 * @param counters counts of what was read
+	 * @return the courses read
+	 * @throws FileNotFoundException if the catalog cannot be read
+	 */
+	@Benchmark
+	public ArrayList<Course> readCourseRecords(Counters counters) throws FileNotFoundException {
+		ArrayList<Course> courses = CourseRecordIO.readCourseRecords(catalog.getFileName());
+		counters.megabytes += catalog.getFileLength() / BYTES_PER_MEGABYTE;
+		counters.records += lines;
+		return courses;
+	}
+
+}
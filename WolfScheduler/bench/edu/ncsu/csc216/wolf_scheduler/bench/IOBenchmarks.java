@@ -0,0 +1,34 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the CourseRecordIO and ActivityRecordIO benchmarks with the GC profiler, so
+ * the allocation rate and bytes allocated per operation are reported along with the
+ * throughput. This is the same as running org.openjdk.jmh.Main with
+ * "RecordIOBenchmark -prof gc".
+ *
+ * @author Michael Richardson
+ */
+public class IOBenchmarks {
+
+	/**
+	 * Runs the benchmarks.
+	 *
+	 * @param args command line arguments, which are not used
+	 * @throws RunnerException if a benchmark fails
+	 */
+	public static void main(String[] args) throws RunnerException {
+		Options options = new OptionsBuilder()
+				.include(CourseRecordIOBenchmark.class.getSimpleName())
+				.include(ActivityRecordIOBenchmark.class.getSimpleName())
+				.addProfiler(GCProfiler.class)
+				.build();
+		new Runner(options).run();
+	}
+
+}
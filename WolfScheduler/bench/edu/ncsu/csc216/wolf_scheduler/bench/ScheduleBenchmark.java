@@ -0,0 +1,89 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Measures adding a course or an event to schedules of different sizes. The schedule
+ * is filled with half hour events on the weekend, which never conflict with the
+ * catalog's courses. Each benchmark adds an activity and then removes it again, so
+ * the schedule is the same size for every call and the time includes the removal.
+ *
+ * @author Michael Richardson
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleBenchmark {
+
+	/** Number of sections in the catalog */
+	private static final int CATALOG_SIZE = 1000;
+
+	/** Number of activities in the schedule before each add */
+	@Param({"5", "10", "20", "50"})
+	private int scheduleSize;
+
+	/** Scheduler holding the schedule */
+	private WolfScheduler scheduler;
+	/** Name of the course added */
+	private String name;
+	/** Section of the course added */
+	private String section;
+
+	/**
+	 * Loads the catalog and fills the schedule with scheduleSize events.
+	 *
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		SyntheticCatalog catalog = new SyntheticCatalog(CATALOG_SIZE, 216);
+		scheduler = new WolfScheduler(catalog.getFileName());
+		for (int i = 0; i < scheduleSize; i++) {
+			int start = i / 4 * 100 + i % 2 * 30;
+			scheduler.addEventToSchedule("Event " + i, i % 4 < 2 ? "S" : "U", start, start + 20, "");
+		}
+		name = catalog.getName(CATALOG_SIZE / 2);
+		section = catalog.getSection(CATALOG_SIZE / 2);
+	}
+
+	/**
+	 * Adds a catalog course to the schedule and removes it.
+	 *
+	 * @return true if the course was removed
+	 */
+	@Benchmark
+	public boolean addCourseToSchedule() {
+		scheduler.addCourseToSchedule(name, section);
+		return scheduler.removeActivityFromSchedule(scheduleSize);
+	}
+
+	/**
+	 * Adds an event to the schedule and removes it.
+	 *
+	 * @return true if the event was removed
+	 */
+	@Benchmark
+	public boolean addEventToSchedule() {
+		scheduler.addEventToSchedule("Study", "MWF", 1800, 1950, "");
+		return scheduler.removeActivityFromSchedule(scheduleSize);
+	}
+
+}
@@ -0,0 +1,97 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Catalog file written by a WorkloadGenerator for a benchmark to load. The file is
+ * temporary and is deleted when the JVM exits. Sections have the generator's default
+ * meeting days and times, and the same seed always gives the same catalog.
+ *
+ * @author Michael Richardson
+ */
+public class SyntheticCatalog {
+
+	/** Generator that wrote the catalog */
+	private final WorkloadGenerator generator;
+	/** File the catalog was written to */
+	private final File file;
+
+	/**
+	 * Writes a catalog with the given number of sections.
+	 *
+	 * @param size number of sections in the catalog
+	 * @param seed seed for the meeting days and times
+	 * @throws IOException if the file cannot be written
+	 */
+	public SyntheticCatalog(int size, long seed) throws IOException {
+		this(size, 0, seed);
+	}
+
+	/**
+	 * Writes a catalog with the given number of lines. About invalidPercent of the lines
+	 * are malformed course records that CourseRecordIO ignores, and the rest are valid
+	 * sections.
+	 *
+	 * @param lines          number of lines in the catalog file
+	 * @param invalidPercent percent of the lines that are invalid, from 0 to 100
+	 * @param seed           seed for the meeting days and times and the invalid lines
+	 * @throws IOException if the file cannot be written
+	 */
+	public SyntheticCatalog(int lines, int invalidPercent, long seed) throws IOException {
+		generator = new WorkloadGenerator(seed);
+		generator.setLines(lines);
+		generator.setInvalidPercents(0, invalidPercent);
+		file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+		generator.writeCatalog(file.getPath());
+	}
+
+	/**
+	 * Returns the path of the catalog file.
+	 *
+	 * @return the path of the file
+	 */
+	public String getFileName() {
+		return file.getPath();
+	}
+
+	/**
+	 * Returns the number of bytes in the catalog file.
+	 *
+	 * @return the length of the file
+	 */
+	public long getFileLength() {
+		return file.length();
+	}
+
+	/**
+	 * Returns the number of lines in the catalog.
+	 *
+	 * @return the number of lines
+	 */
+	public int size() {
+		return (int) generator.getLines();
+	}
+
+	/**
+	 * Returns the name of the course at the given line of the catalog.
+	 *
+	 * @param index line of the course, from 0
+	 * @return the course name
+	 */
+	public String getName(int index) {
+		return generator.getName(index);
+	}
+
+	/**
+	 * Returns the section of the course at the given line of the catalog.
+	 *
+	 * @param index line of the course, from 0
+	 * @return the course section
+	 */
+	public String getSection(int index) {
+		return generator.getSection(index);
+	}
+
+}
@@ -0,0 +1,546 @@
+package edu.ncsu.csc216.wolf_scheduler.bench;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Random;
+import java.util.function.BooleanSupplier;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
+
+/**
+ * Writes course catalogs and schedule requests for benchmarks and stress tests, from
+ * thousands to millions of lines. The same seed and settings always give the same
+ * files, and lines are written as they are generated, so files of any size can be
+ * written without holding them in memory.
+ *
+ * Catalog lines are course records in the format CourseRecordIO reads. The course
+ * name and section of each line depend only on its line number: line i is a section
+ * of course i / sectionsPerCourse, and courses are spread over the departments in
+ * turn, numbered from 100. Sections meet MWF for 50 minutes, TH or MW for 75 minutes,
+ * or are arranged, at the usual start times for those days. Some lines can repeat the
+ * name and section of an earlier line, which CourseRecordIO ignores, and some can be
+ * malformed in one of the ways CourseRecordIO rejects.
+ *
+ * Request lines are what students do with a WolfScheduler, one request per line:
+ * <pre>
+ * reset
+ * title,&lt;title&gt;
+ * course,&lt;name&gt;,&lt;section&gt;
+ * event,&lt;title&gt;,&lt;meeting days&gt;,&lt;start time&gt;,&lt;end time&gt;,&lt;details&gt;
+ * remove,&lt;index&gt;
+ * </pre>
+ * Each student resets the schedule, names it, adds courses from the catalog and
+ * events, and sometimes removes an activity. Courses are picked from the whole
+ * catalog, so some requests fail because the course is malformed in the catalog,
+ * conflicts with the schedule, or is already in it. replayRequests(WolfScheduler,
+ * String) applies a request file to a scheduler.
+ *
+ * @author Michael Richardson
+ */
+public class WorkloadGenerator {
+
+	/** Start times of sections meeting MWF */
+	private static final int[] MWF_STARTS = {805, 910, 1015, 1120, 1225, 1330, 1435, 1540, 1645};
+	/** Start times of sections meeting MW or TH */
+	private static final int[] TWO_DAY_STARTS = {830, 1015, 1155, 1330, 1505, 1640};
+	/** Length in minutes of a section meeting MWF */
+	private static final int MWF_MINUTES = 50;
+	/** Length in minutes of a section meeting MW or TH */
+	private static final int TWO_DAY_MINUTES = 75;
+	/** Number of course numbers in a department, from 100 to 999 */
+	private static final int COURSES_PER_DEPARTMENT = 900;
+	/** Largest number of departments with names of at most four letters */
+	private static final int MAX_DEPARTMENTS = 26 + 26 * 26 + 26 * 26 * 26 + 26 * 26 * 26 * 26;
+	/** Largest section number */
+	private static final int MAX_SECTIONS = 999;
+	/** Number of earlier lines a duplicate line can repeat */
+	private static final int DUPLICATE_WINDOW = 1000;
+	/** Number of different instructors */
+	private static final int INSTRUCTORS = 5000;
+	/** Meeting days of the events students add */
+	private static final String[] EVENT_DAYS = {"S", "U", "SU", "MWF", "TH"};
+	/** Percent of students who remove an activity after adding theirs */
+	private static final int REMOVE_PERCENT = 20;
+
+	/** Seed of the random values */
+	private final long seed;
+	/** Number of lines in the catalog */
+	private long lines = 10000;
+	/** Number of departments */
+	private int departments = 50;
+	/** Number of sections of each course */
+	private int sectionsPerCourse = 4;
+	/** Percent of sections meeting MWF */
+	private int mwfPercent = 40;
+	/** Percent of sections meeting TH */
+	private int thPercent = 30;
+	/** Percent of sections that are arranged */
+	private int arrangedPercent = 5;
+	/** Percent of lines repeating the name and section of an earlier line */
+	private int duplicatePercent;
+	/** Percent of lines that are malformed */
+	private int malformedPercent;
+	/** Number of courses each student adds */
+	private int coursesPerStudent = 5;
+	/** Number of events each student adds */
+	private int eventsPerStudent = 1;
+
+	/**
+	 * Constructs a generator with the default settings: a catalog of 10000 lines over 50
+	 * departments with 4 sections of each course, 40% of sections meeting MWF, 30% TH, 5%
+	 * arranged, and the rest MW, with no duplicate or malformed lines, and 5 courses and
+	 * 1 event for each student.
+	 *
+	 * @param seed seed of the random values
+	 */
+	public WorkloadGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/**
+	 * Sets the number of lines in the catalog. Requests pick courses from this many lines.
+	 * If there are not enough departments to name that many lines, departments are added.
+	 *
+	 * @param lines number of lines
+	 * @throws IllegalArgumentException if lines is negative or more than four letter
+	 *                                  departments can name
+	 */
+	public void setLines(long lines) {
+		long perDepartment = (long) COURSES_PER_DEPARTMENT * sectionsPerCourse;
+		long neededDepartments = (lines + perDepartment - 1) / perDepartment;
+		if (lines < 0 || neededDepartments > MAX_DEPARTMENTS) {
+			throw new IllegalArgumentException("Invalid number of lines.");
+		}
+		this.lines = lines;
+		departments = (int) Math.max(departments, neededDepartments);
+	}
+
+	/**
+	 * Sets the number of departments. Each department has at most 900 courses.
+	 *
+	 * @param departments number of departments
+	 * @throws IllegalArgumentException if departments is less than 1, more than can be
+	 *                                  named with four letters, or too few for the lines
+	 */
+	public void setDepartments(int departments) {
+		if (departments < 1 || departments > MAX_DEPARTMENTS
+				|| lines > (long) departments * COURSES_PER_DEPARTMENT * sectionsPerCourse) {
+			throw new IllegalArgumentException("Invalid number of departments.");
+		}
+		this.departments = departments;
+	}
+
+	/**
+	 * Sets the number of sections of each course.
+	 *
+	 * @param sectionsPerCourse number of sections
+	 * @throws IllegalArgumentException if sectionsPerCourse is less than 1, more than 999,
+	 *                                  or too few for the lines
+	 */
+	public void setSectionsPerCourse(int sectionsPerCourse) {
+		if (sectionsPerCourse < 1 || sectionsPerCourse > MAX_SECTIONS
+				|| lines > (long) departments * COURSES_PER_DEPARTMENT * sectionsPerCourse) {
+			throw new IllegalArgumentException("Invalid number of sections.");
+		}
+		this.sectionsPerCourse = sectionsPerCourse;
+	}
+
+	/**
+	 * Sets how sections meet. The sections left over meet MW.
+	 *
+	 * @param mwfPercent      percent of sections meeting MWF
+	 * @param thPercent       percent of sections meeting TH
+	 * @param arrangedPercent percent of sections that are arranged
+	 * @throws IllegalArgumentException if a percent is negative or they add up to more
+	 *                                  than 100
+	 */
+	public void setMeetingPercents(int mwfPercent, int thPercent, int arrangedPercent) {
+		if (mwfPercent < 0 || thPercent < 0 || arrangedPercent < 0 || mwfPercent + thPercent + arrangedPercent > 100) {
+			throw new IllegalArgumentException("Invalid meeting percents.");
+		}
+		this.mwfPercent = mwfPercent;
+		this.thPercent = thPercent;
+		this.arrangedPercent = arrangedPercent;
+	}
+
+	/**
+	 * Sets the percents of catalog lines that are duplicates or malformed.
+	 *
+	 * @param duplicatePercent percent of lines repeating an earlier name and section
+	 * @param malformedPercent percent of lines that are malformed
+	 * @throws IllegalArgumentException if a percent is negative or they add up to more
+	 *                                  than 100
+	 */
+	public void setInvalidPercents(int duplicatePercent, int malformedPercent) {
+		if (duplicatePercent < 0 || malformedPercent < 0 || duplicatePercent + malformedPercent > 100) {
+			throw new IllegalArgumentException("Invalid percents.");
+		}
+		this.duplicatePercent = duplicatePercent;
+		this.malformedPercent = malformedPercent;
+	}
+
+	/**
+	 * Sets how many courses and events each student adds.
+	 *
+	 * @param coursesPerStudent number of courses
+	 * @param eventsPerStudent  number of events
+	 * @throws IllegalArgumentException if either is negative
+	 */
+	public void setActivitiesPerStudent(int coursesPerStudent, int eventsPerStudent) {
+		if (coursesPerStudent < 0 || eventsPerStudent < 0) {
+			throw new IllegalArgumentException("Invalid number of activities.");
+		}
+		this.coursesPerStudent = coursesPerStudent;
+		this.eventsPerStudent = eventsPerStudent;
+	}
+
+	/**
+	 * Returns the number of lines in the catalog.
+	 *
+	 * @return the number of lines
+	 */
+	public long getLines() {
+		return lines;
+	}
+
+	/**
+	 * Returns the course name of the given catalog line.
+	 *
+	 * @param line line number, from 0
+	 * @return the course name
+	 */
+	public String getName(long line) {
+		long course = line / sectionsPerCourse;
+		return toDepartment((int) (course % departments)) + " " + (100 + course / departments);
+	}
+
+	/**
+	 * Returns the section of the given catalog line.
+	 *
+	 * @param line line number, from 0
+	 * @return the section
+	 */
+	public String getSection(long line) {
+		return toThreeDigits((int) (1 + line % sectionsPerCourse));
+	}
+
+	/**
+	 * Writes the catalog to a file.
+	 *
+	 * @param fileName file to write
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeCatalog(String fileName) throws IOException {
+		try (Writer out = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8)) {
+			writeCatalog(out);
+		}
+	}
+
+	/**
+	 * Writes the catalog, one course record per line.
+	 *
+	 * @param out writer to write to
+	 * @throws IOException if the lines cannot be written
+	 */
+	public void writeCatalog(Writer out) throws IOException {
+		Random random = new Random(seed);
+		StringBuilder record = new StringBuilder();
+		for (long line = 0; line < lines; line++) {
+			record.setLength(0);
+			int kind = random.nextInt(100);
+			long identity = line;
+			if (kind < duplicatePercent && line > 0) {
+				identity = line - 1 - random.nextInt((int) Math.min(line, DUPLICATE_WINDOW));
+			}
+			appendRecord(record, random, identity);
+			if (kind >= duplicatePercent && kind < duplicatePercent + malformedPercent) {
+				malform(record, random);
+			}
+			out.append(record).append('\n');
+		}
+	}
+
+	/**
+	 * Writes schedule requests for the given number of students to a file.
+	 *
+	 * @param fileName file to write
+	 * @param students number of students
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeRequests(String fileName, long students) throws IOException {
+		try (Writer out = Files.newBufferedWriter(Paths.get(fileName), StandardCharsets.UTF_8)) {
+			writeRequests(out, students);
+		}
+	}
+
+	/**
+	 * Writes schedule requests for the given number of students, one request per line.
+	 *
+	 * @param out      writer to write to
+	 * @param students number of students
+	 * @throws IOException if the lines cannot be written
+	 */
+	public void writeRequests(Writer out, long students) throws IOException {
+		// Use a different sequence than the catalog so changing one does not change the other
+		Random random = new Random(~seed);
+		for (long student = 0; student < students; student++) {
+			out.append("reset\ntitle,Schedule ").append(Long.toString(student)).append('\n');
+			for (int i = 0; i < coursesPerStudent && lines > 0; i++) {
+				long line = (long) (random.nextDouble() * lines);
+				out.append("course,").append(getName(line)).append(',').append(getSection(line)).append('\n');
+			}
+			for (int i = 0; i < eventsPerStudent; i++) {
+				int start = (6 + random.nextInt(15)) * 100;
+				out.append("event,Event ").append(Integer.toString(i)).append(',')
+						.append(EVENT_DAYS[random.nextInt(EVENT_DAYS.length)]).append(',')
+						.append(Integer.toString(start)).append(',').append(Integer.toString(start + 100))
+						.append(",Details of event ").append(Integer.toString(i)).append('\n');
+			}
+			if (coursesPerStudent + eventsPerStudent > 0 && random.nextInt(100) < REMOVE_PERCENT) {
+				out.append("remove,").append(Integer.toString(random.nextInt(coursesPerStudent + eventsPerStudent)))
+						.append('\n');
+			}
+		}
+	}
+
+	/**
+	 * Applies every request in the file to the scheduler, in order. Requests the
+	 * scheduler rejects are counted and skipped.
+	 *
+	 * @param scheduler scheduler to apply the requests to
+	 * @param fileName  file of requests written by writeRequests()
+	 * @return the number of requests the scheduler rejected
+	 * @throws IOException if the file cannot be read
+	 * @throws IllegalArgumentException if a line is not a request
+	 */
+	public static long replayRequests(WolfScheduler scheduler, String fileName) throws IOException {
+		long rejected = 0;
+		try (BufferedReader in = Files.newBufferedReader(Paths.get(fileName), StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = in.readLine()) != null) {
+				if (!replayRequest(scheduler, line.split(",", -1))) {
+					rejected++;
+				}
+			}
+		}
+		return rejected;
+	}
+
+	/**
+	 * Applies one request to the scheduler.
+	 *
+	 * @param scheduler scheduler to apply the request to
+	 * @param fields    fields of the request line
+	 * @return true if the scheduler accepted the request
+	 * @throws IllegalArgumentException if the fields are not a request
+	 */
+	private static boolean replayRequest(WolfScheduler scheduler, String[] fields) {
+		switch (fields[0]) {
+		case "reset":
+			checkFieldCount(fields, 1);
+			scheduler.resetSchedule();
+			return true;
+		case "title":
+			checkFieldCount(fields, 2);
+			return accepts(() -> {
+				scheduler.setScheduleTitle(fields[1]);
+				return true;
+			});
+		case "course":
+			checkFieldCount(fields, 3);
+			return accepts(() -> scheduler.addCourseToSchedule(fields[1], fields[2]));
+		case "event":
+			checkFieldCount(fields, 6);
+			int startTime = toInt(fields[3]);
+			int endTime = toInt(fields[4]);
+			return accepts(() -> {
+				scheduler.addEventToSchedule(fields[1], fields[2], startTime, endTime, fields[5]);
+				return true;
+			});
+		case "remove":
+			checkFieldCount(fields, 2);
+			return scheduler.removeActivityFromSchedule(toInt(fields[1]));
+		default:
+			throw new IllegalArgumentException("Invalid request.");
+		}
+	}
+
+	/**
+	 * Runs a request, treating an IllegalArgumentException as the scheduler rejecting it.
+	 *
+	 * @param request request to run
+	 * @return the result of the request, or false if it was rejected
+	 */
+	private static boolean accepts(BooleanSupplier request) {
+		try {
+			return request.getAsBoolean();
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Checks that a request has the given number of fields.
+	 *
+	 * @param fields fields of the request line
+	 * @param count  number of fields the request needs
+	 * @throws IllegalArgumentException if the number of fields is different
+	 */
+	private static void checkFieldCount(String[] fields, int count) {
+		if (fields.length != count) {
+			throw new IllegalArgumentException("Invalid request.");
+		}
+	}
+
+	/**
+	 * Returns the number in a request field.
+	 *
+	 * @param field field of the request line
+	 * @return the number
+	 * @throws IllegalArgumentException if the field is not a number
+	 */
+	private static int toInt(String field) {
+		try {
+			return Integer.parseInt(field);
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Invalid request.");
+		}
+	}
+
+	/**
+	 * Appends a valid course record with the name and section of the given line.
+	 *
+	 * @param record   builder to append to
+	 * @param random   source of random values
+	 * @param identity line whose name and section to use
+	 */
+	private void appendRecord(StringBuilder record, Random random, long identity) {
+		long course = identity / sectionsPerCourse;
+		record.append(getName(identity)).append(",Topics in ").append(toDepartment((int) (course % departments)))
+				.append(' ').append(course).append(',').append(getSection(identity)).append(',')
+				.append(1 + random.nextInt(4)).append(",inst").append(random.nextInt(INSTRUCTORS)).append(',');
+		int meeting = random.nextInt(100);
+		if (meeting < arrangedPercent) {
+			record.append('A');
+		} else if (meeting < arrangedPercent + mwfPercent) {
+			appendMeeting(record, "MWF", MWF_STARTS[random.nextInt(MWF_STARTS.length)], MWF_MINUTES);
+		} else if (meeting < arrangedPercent + mwfPercent + thPercent) {
+			appendMeeting(record, "TH", TWO_DAY_STARTS[random.nextInt(TWO_DAY_STARTS.length)], TWO_DAY_MINUTES);
+		} else {
+			appendMeeting(record, "MW", TWO_DAY_STARTS[random.nextInt(TWO_DAY_STARTS.length)], TWO_DAY_MINUTES);
+		}
+	}
+
+	/**
+	 * Appends the meeting days and times fields of a section.
+	 *
+	 * @param record  builder to append to
+	 * @param days    meeting days
+	 * @param start   start time in military time
+	 * @param minutes length of each meeting in minutes
+	 */
+	private static void appendMeeting(StringBuilder record, String days, int start, int minutes) {
+		record.append(days).append(',').append(start).append(',')
+				.append(Activity.toMilitaryTime(Activity.toMinutes(start) + minutes));
+	}
+
+	/**
+	 * Changes a valid course record into one with one of the mistakes CourseRecordIO
+	 * checks for.
+	 *
+	 * @param record valid course record to change
+	 * @param random source of random values
+	 */
+	private static void malform(StringBuilder record, Random random) {
+		int firstComma = record.indexOf(",");
+		switch (random.nextInt(5)) {
+		case 0:
+			// Name with no space
+			record.deleteCharAt(record.indexOf(" "));
+			break;
+		case 1:
+			// Missing title
+			record.delete(firstComma + 1, record.indexOf(",", firstComma + 1));
+			break;
+		case 2:
+			// Too many credits
+			int creditsStart = nthComma(record, 3) + 1;
+			record.replace(creditsStart, creditsStart + 1, "6");
+			break;
+		case 3:
+			// Invalid meeting days
+			record.setLength(nthComma(record, 5) + 1);
+			record.append("MX,1000,1050");
+			break;
+		default:
+			// Missing instructor and meeting days
+			record.setLength(nthComma(record, 4));
+			break;
+		}
+	}
+
+	/**
+	 * Returns the index of the nth comma in the record.
+	 *
+	 * @param record course record
+	 * @param n      number of the comma, from 1
+	 * @return the index of the comma
+	 */
+	private static int nthComma(StringBuilder record, int n) {
+		int index = -1;
+		for (int i = 0; i < n; i++) {
+			index = record.indexOf(",", index + 1);
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the department letters for a department number, as "A" to "Z", then
+	 * "AA" to "ZZ", and so on.
+	 *
+	 * @param department department number, from 0
+	 * @return the department letters
+	 */
+	private static String toDepartment(int department) {
+		StringBuilder letters = new StringBuilder();
+		for (int d = department + 1; d > 0; d = (d - 1) / 26) {
+			letters.insert(0, (char) ('A' + (d - 1) % 26));
+		}
+		return letters.toString();
+	}
+
+	/**
+	 * Returns the number with leading zeros to make three digits.
+	 *
+	 * @param number number from 0 to 999
+	 * @return the three digits
+	 */
+	private static String toThreeDigits(int number) {
+		return number < 10 ? "00" + number : number < 100 ? "0" + number : Integer.toString(number);
+	}
+
+	/**
+	 * Writes a catalog and requests from the command line. The arguments are the
+	 * catalog file, the requests file, the number of catalog lines, the number of
+	 * students, and optionally the seed, which is 216 by default.
+	 *
+	 * @param args command line arguments
+	 * @throws IOException if a file cannot be written
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 4) {
+			System.err.println("Usage: WorkloadGenerator <catalog file> <requests file> <lines> <students> [seed]");
+			System.exit(1);
+		}
+		WorkloadGenerator generator = new WorkloadGenerator(args.length > 4 ? Long.parseLong(args[4]) : 216);
+		generator.setLines(Long.parseLong(args[2]));
+		generator.writeCatalog(args[0]);
+		generator.writeRequests(args[1], Long.parseLong(args[3]));
+	}
+
+}
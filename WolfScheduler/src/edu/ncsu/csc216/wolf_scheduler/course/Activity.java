@@ -1,10 +1,19 @@
 package edu.ncsu.csc216.wolf_scheduler.course;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Abstract class used to handle basic scheduling and naming of activities.
  * Keeps track of two constants for time values, as well as the activity's
  * title, meetingDays (as a String), startTime, and endTime (as integers).
+ * Times are given and returned in military time, but are kept as minutes
+ * since midnight, along with the minutes since the start of the week (Monday
+ * at midnight) of each meeting, so that overlaps are found by comparing
+ * plain integers. The meeting string and display rows are built once and
+ * kept until a setter changes the activity, so tables that are redrawn often
+ * do not format them again.
  * The Course and Event classes inherit the Activity class to make use of these
  * basic scheduling fields and methods as well as two abstract methods for 
  * displaying their data.
@@ -18,14 +27,49 @@ public abstract class Activity implements Conflict {
 	private static final int UPPER_HOUR = 24;
 	/** Total minutes in an hour */
 	private static final int UPPER_MINUTE = 60;
+	/** Total minutes in a day */
+	public static final int MINUTES_PER_DAY = UPPER_HOUR * UPPER_MINUTE;
+	/** Number of bits a meeting's start is shifted by when packed with its end */
+	private static final int MEETING_SHIFT = 16;
+	/** Mask of a meeting's end when packed with its start */
+	private static final int MEETING_END = (1 << MEETING_SHIFT) - 1;
+	/** Bit flag for Monday in the meeting days mask */
+	private static final int MONDAY = 1;
+	/** Bit flag for Tuesday in the meeting days mask */
+	private static final int TUESDAY = 1 << 1;
+	/** Bit flag for Wednesday in the meeting days mask */
+	private static final int WEDNESDAY = 1 << 2;
+	/** Bit flag for Thursday in the meeting days mask */
+	private static final int THURSDAY = 1 << 3;
+	/** Bit flag for Friday in the meeting days mask */
+	private static final int FRIDAY = 1 << 4;
+	/** Bit flag for Saturday in the meeting days mask */
+	private static final int SATURDAY = 1 << 5;
+	/** Bit flag for Sunday in the meeting days mask */
+	private static final int SUNDAY = 1 << 6;
+	/** Bit flag for arranged activities in the meeting days mask */
+	private static final int ARRANGED = 1 << 7;
 	/** Activity's title. */
 	private String title;
 	/** Activity's meeting days */
 	private String meetingDays;
-	/** Activity's starting time */
-	private int startTime;
-	/** Activity's ending time */
-	private int endTime;
+	/** Activity's meeting days as a bitmask, kept in sync with meetingDays */
+	private int meetingDaysMask;
+	/** Activity's starting time in minutes since midnight */
+	private int startMinutes;
+	/** Activity's ending time in minutes since midnight */
+	private int endMinutes;
+	/**
+	 * Activity's meetings from Monday to Sunday, each packed as the minutes since the
+	 * start of the week it starts, shifted by MEETING_SHIFT, and the minutes it ends
+	 */
+	private int[] meetings;
+	/** Cached result of getMeetingString(), or null if it must be built again */
+	private String meetingString;
+	/** Cached result of getShortDisplay(), or null if it must be built again */
+	private List<String> shortDisplay;
+	/** Cached result of getLongDisplay(), or null if it must be built again */
+	private List<String> longDisplay;
 
 	/**
 	 * Constructs the four private fields of Activity through a call from the child class
@@ -56,6 +100,42 @@ public abstract class Activity implements Conflict {
      */
     public abstract String[] getLongDisplayArray();
 
+    /**
+     * Returns the same fields as getShortDisplayArray() as a list that cannot be
+     * modified. The list is only built again after the activity is changed, so
+     * repeated calls return the same list.
+     * @return shortDisplay list of some fields
+     */
+    public List<String> getShortDisplay() {
+        if (shortDisplay == null) {
+            shortDisplay = Collections.unmodifiableList(Arrays.asList(getShortDisplayArray()));
+        }
+        return shortDisplay;
+    }
+
+    /**
+     * Returns the same fields as getLongDisplayArray() as a list that cannot be
+     * modified. The list is only built again after the activity is changed, so
+     * repeated calls return the same list.
+     * @return longDisplay list of all fields
+     */
+    public List<String> getLongDisplay() {
+        if (longDisplay == null) {
+            longDisplay = Collections.unmodifiableList(Arrays.asList(getLongDisplayArray()));
+        }
+        return longDisplay;
+    }
+
+    /**
+     * Discards the cached meeting string and display lists. Must be called by
+     * every setter that changes a displayed field.
+     */
+    protected void clearDisplayCache() {
+        meetingString = null;
+        shortDisplay = null;
+        longDisplay = null;
+    }
+
     /**
      * Returns true if the provided Activity is a duplicate in the
      * schedule and false if it was not found in the list.
@@ -63,6 +143,14 @@ public abstract class Activity implements Conflict {
      * @return isDuplicate boolean
      */
     public abstract boolean isDuplicate(Activity activity);
+
+    /**
+     * Appends the comma separated value record of the activity, the same String
+     * returned by toString(), to the builder. Used to write many records without
+     * creating a String for each one.
+     * @param record builder to append the record to
+     */
+    public abstract void appendRecord(StringBuilder record);
     
 	/**
 	 * Returns the title of the activity
@@ -84,6 +172,7 @@ public abstract class Activity implements Conflict {
 			throw new IllegalArgumentException("Invalid title.");
 		}
 		this.title = title;
+		clearDisplayCache();
 	}
 
 	/**
@@ -101,22 +190,26 @@ public abstract class Activity implements Conflict {
 	 * @return the meetingDays, startTime and endTime in a formatted string
 	 */
 	public String getMeetingString() {
-		if (meetingDays.contains("A")) {
-			return "Arranged";
+		if (meetingString == null) {
+			if (meetingDays.contains("A")) {
+				meetingString = "Arranged";
+			} else {
+				meetingString = meetingDays + " " + getTimeString(startMinutes) + "-" + getTimeString(endMinutes);
+			}
 		}
-		return meetingDays + " " + getTimeString(startTime) + "-" + getTimeString(endTime);
+		return meetingString;
 	}
 
 	/**
-	 * Returns the standard time equivalent of the passed in military time. Adds a
-	 * leadingZero to the minutes if it is less than 10. Changes the timeOfDay
+	 * Returns the standard time equivalent of the passed in minutes since midnight.
+	 * Adds a leadingZero to the minutes if it is less than 10. Changes the timeOfDay
 	 * variable from "AM" to "PM" when hours is >= 12.
 	 * 
-	 * @param time (military)
+	 * @param time minutes since midnight
 	 * @return standardTime
 	 */
 	private String getTimeString(int time) {
-		int hours = time / 100;
+		int hours = time / UPPER_MINUTE;
 		String timeOfDay = "AM";
 		if (hours > 12) {
 			hours -= 12;
@@ -126,7 +219,7 @@ public abstract class Activity implements Conflict {
 		} else if (hours == 12) {
 			timeOfDay = "PM";
 		}
-		int minutes = time % 100;
+		int minutes = time % UPPER_MINUTE;
 		String leadingZero = "";
 		if (minutes < 10) {
 			leadingZero = "0";
@@ -175,8 +268,84 @@ public abstract class Activity implements Conflict {
 		}
 	
 		this.meetingDays = meetingDays;
-		this.startTime = startTime;
-		this.endTime = endTime;
+		this.meetingDaysMask = toMeetingDaysMask(meetingDays);
+		this.startMinutes = startTimeHours * UPPER_MINUTE + startTimeMinutes;
+		this.endMinutes = endTimeHours * UPPER_MINUTE + endTimeMinutes;
+		
+		// Pack the meetings of each day, which arranged activities do not have
+		int days = getMeetingDaysMask();
+		this.meetings = new int[Integer.bitCount(days)];
+		for (int i = 0; days != 0; i++, days &= days - 1) {
+			int dayStart = Integer.numberOfTrailingZeros(days) * MINUTES_PER_DAY;
+			meetings[i] = (dayStart + startMinutes) << MEETING_SHIFT | (dayStart + endMinutes);
+		}
+		clearDisplayCache();
+	}
+
+	/**
+	 * Converts a military time, such as 1330, into minutes since midnight.
+	 * 
+	 * @param time the military time
+	 * @return minutes since midnight
+	 */
+	public static int toMinutes(int time) {
+		return time / 100 * UPPER_MINUTE + time % 100;
+	}
+
+	/**
+	 * Converts minutes since midnight into a military time, such as 1330.
+	 * 
+	 * @param minutes minutes since midnight
+	 * @return the military time
+	 */
+	public static int toMilitaryTime(int minutes) {
+		return minutes / UPPER_MINUTE * 100 + minutes % UPPER_MINUTE;
+	}
+
+	/**
+	 * Converts a meeting days string into a bitmask with one bit per day
+	 * (M, T, W, H, F, S, U) and one bit for arranged ('A') activities.
+	 * Characters that do not represent a day are ignored since the child
+	 * classes are responsible for validating the meeting days.
+	 * 
+	 * @param meetingDays the meeting days to convert
+	 * @return mask of the meeting days
+	 */
+	private static int toMeetingDaysMask(String meetingDays) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			mask |= toMeetingDayBit(meetingDays.charAt(i));
+		}
+		return mask;
+	}
+
+	/**
+	 * Returns the bit used in the meeting days mask for the given day.
+	 * 
+	 * @param day the meeting day character
+	 * @return bit for the day or 0 if the character is not a day
+	 */
+	private static int toMeetingDayBit(char day) {
+		switch (day) {
+		case 'M':
+			return MONDAY;
+		case 'T':
+			return TUESDAY;
+		case 'W':
+			return WEDNESDAY;
+		case 'H':
+			return THURSDAY;
+		case 'F':
+			return FRIDAY;
+		case 'S':
+			return SATURDAY;
+		case 'U':
+			return SUNDAY;
+		case 'A':
+			return ARRANGED;
+		default:
+			return 0;
+		}
 	}
 
 	/**
@@ -185,7 +354,7 @@ public abstract class Activity implements Conflict {
 	 * @return the startTime
 	 */
 	public int getStartTime() {
-		return startTime;
+		return toMilitaryTime(startMinutes);
 	}
 
 	/**
@@ -194,7 +363,69 @@ public abstract class Activity implements Conflict {
 	 * @return the endTime
 	 */
 	public int getEndTime() {
-		return endTime;
+		return toMilitaryTime(endMinutes);
+	}
+
+	/**
+	 * Returns the start time of the activity in minutes since midnight
+	 * 
+	 * @return the start time in minutes
+	 */
+	public int getStartMinutes() {
+		return startMinutes;
+	}
+
+	/**
+	 * Returns the end time of the activity in minutes since midnight
+	 * 
+	 * @return the end time in minutes
+	 */
+	public int getEndMinutes() {
+		return endMinutes;
+	}
+
+	/**
+	 * Returns the days the activity meets as a bitmask, with bit 0 for Monday
+	 * through bit 6 for Sunday. Arranged activities do not meet on any day.
+	 * 
+	 * @return mask of the meeting days
+	 */
+	public int getMeetingDaysMask() {
+		return (meetingDaysMask & ARRANGED) != 0 ? 0 : meetingDaysMask;
+	}
+
+	/**
+	 * Returns the number of times the activity meets each week, one for each
+	 * meeting day.
+	 * 
+	 * @return the number of meetings
+	 */
+	public int getMeetingCount() {
+		return meetings.length;
+	}
+
+	/**
+	 * Returns the start of one of the activity's meetings, in minutes since the
+	 * start of the week on Monday at midnight. Meetings are in order from Monday
+	 * to Sunday.
+	 * 
+	 * @param meeting index of the meeting, less than getMeetingCount()
+	 * @return the start of the meeting in minutes since the start of the week
+	 */
+	public int getMeetingStart(int meeting) {
+		return meetings[meeting] >>> MEETING_SHIFT;
+	}
+
+	/**
+	 * Returns the end of one of the activity's meetings, in minutes since the
+	 * start of the week on Monday at midnight. Meetings are in order from Monday
+	 * to Sunday.
+	 * 
+	 * @param meeting index of the meeting, less than getMeetingCount()
+	 * @return the end of the meeting in minutes since the start of the week
+	 */
+	public int getMeetingEnd(int meeting) {
+		return meetings[meeting] & MEETING_END;
 	}
 
 	/**
@@ -204,9 +435,9 @@ public abstract class Activity implements Conflict {
 	public int hashCode() {
 		final int prime = 31;
 		int result = 1;
-		result = prime * result + endTime;
+		result = prime * result + getEndTime();
 		result = prime * result + ((meetingDays == null) ? 0 : meetingDays.hashCode());
-		result = prime * result + startTime;
+		result = prime * result + getStartTime();
 		result = prime * result + ((title == null) ? 0 : title.hashCode());
 		return result;
 	}
@@ -224,14 +455,14 @@ public abstract class Activity implements Conflict {
 		if (getClass() != obj.getClass())
 			return false;
 		Activity other = (Activity) obj;
-		if (endTime != other.endTime)
+		if (endMinutes != other.endMinutes)
 			return false;
 		if (meetingDays == null) {
 			if (other.meetingDays != null)
 				return false;
 		} else if (!meetingDays.equals(other.meetingDays))
 			return false;
-		if (startTime != other.startTime)
+		if (startMinutes != other.startMinutes)
 			return false;
 		if (title == null) {
 			if (other.title != null)
@@ -246,37 +477,46 @@ public abstract class Activity implements Conflict {
 	 * activity to the provided activity to compare the two and check for
 	 * overlapping days and times. If there is at least one day with an
 	 * intersecting minute (ie. Monday from 1:30PM-2:45PM and Monday from 2:45-3:30), 
-	 * then the method throws a checked ConflictException.
+	 * then the method throws a checked ConflictException. The exception holds
+	 * the provided activity, the shared meeting days, and the overlapping time
+	 * window, and does not capture a stack trace.
 	 * 
 	 * @param possibleConflictingActivity the Activity to compare times against
 	 * @throws ConflictException when there is at least one overlapping minute and day between the two activities.
 	 */
 	@Override
 	public void checkConflict(Activity possibleConflictingActivity) throws ConflictException {
-		
-		if (!meetingDays.contains("A") && !possibleConflictingActivity.getMeetingDays().contains("A")) {
-	
+		if (conflictsWith(possibleConflictingActivity)) {
+			// Keep the shared days in the order of this activity's meeting days
+			StringBuilder overlappingDays = new StringBuilder();
 			for (int i = 0; i < meetingDays.length(); i++) {
-				if (possibleConflictingActivity.getMeetingDays().contains(Character.toString(meetingDays.charAt(i)))) {
-					if (startTime >= possibleConflictingActivity.getStartTime() && startTime <= possibleConflictingActivity.getEndTime()) {
-						throw new ConflictException();
-					}
-					if (endTime >= possibleConflictingActivity.getStartTime() && endTime <= possibleConflictingActivity.getEndTime()) {
-						throw new ConflictException();
-					}
-					if (possibleConflictingActivity.getStartTime() >= startTime && possibleConflictingActivity.getStartTime() <= endTime) {
-						throw new ConflictException();
-					}
-					if (possibleConflictingActivity.getEndTime() >= startTime && possibleConflictingActivity.getEndTime() <= endTime) {
-						throw new ConflictException();
-					}
+				if ((toMeetingDayBit(meetingDays.charAt(i)) & possibleConflictingActivity.meetingDaysMask) != 0) {
+					overlappingDays.append(meetingDays.charAt(i));
 				}
 			}
-			
+			throw new ConflictException(possibleConflictingActivity, overlappingDays.toString(),
+					toMilitaryTime(Math.max(startMinutes, possibleConflictingActivity.startMinutes)),
+					toMilitaryTime(Math.min(endMinutes, possibleConflictingActivity.endMinutes)));
 		}
-		
 	}
-	
-	
+
+	/**
+	 * Overridden method from the Conflict interface. Uses the same rules as
+	 * checkConflict(Activity), but reports the result as a boolean so callers
+	 * that expect frequent conflicts do not pay for creating an exception.
+	 * 
+	 * @param possibleConflictingActivity the Activity to compare times against
+	 * @return true if there is at least one overlapping minute and day between the two activities
+	 */
+	@Override
+	public boolean conflictsWith(Activity possibleConflictingActivity) {
+		int otherMask = possibleConflictingActivity.meetingDaysMask;
+		// Arranged activities never conflict, otherwise there must be a shared day
+		if (((meetingDaysMask | otherMask) & ARRANGED) != 0 || (meetingDaysMask & otherMask) == 0) {
+			return false;
+		}
+		// Both time ranges are inclusive, so touching end points are a conflict
+		return startMinutes <= possibleConflictingActivity.endMinutes && possibleConflictingActivity.startMinutes <= endMinutes;
+	}
 
 }
\ No newline at end of file
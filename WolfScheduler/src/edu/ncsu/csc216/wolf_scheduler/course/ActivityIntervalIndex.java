@@ -0,0 +1,345 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Index of activities by the times they meet each week, used to find the activities
+ * that overlap a time without checking every activity. Each meeting of an activity is
+ * kept as an interval of minutes since the start of the week, as returned by
+ * Activity.getMeetingStart() and getMeetingEnd(). Arranged activities never meet, so
+ * they are kept but never found.
+ *
+ * A segment tree over the minutes of the week holds each meeting in the nodes that
+ * exactly cover it, so the activities meeting at a given minute are the ones on the path
+ * from that minute's leaf to the root. A map from start minute to activities holds the
+ * ones starting later. An activity overlaps the time from start to end if it is meeting
+ * at start or starts after start and no later than end, so a query takes O(log n + k)
+ * time for k activities found on each day.
+ *
+ * @param <T> type of activity in the index
+ * @author Michael Richardson
+ */
+public class ActivityIntervalIndex<T extends Activity> {
+
+	/** Days of the week in the order they are numbered */
+	private static final String WEEK_DAYS = "MTWHFSU";
+	/** Number of leaves of the segment tree, the smallest power of two covering a week */
+	private static final int LEAVES = 1 << 14;
+
+	/** Activities covering each node of the segment tree, holding only the nodes in use */
+	private final HashMap<Integer, ArrayList<T>> tree = new HashMap<Integer, ArrayList<T>>();
+	/** Activities by the start of each meeting in minutes since the start of the week */
+	private final TreeMap<Integer, ArrayList<T>> starts = new TreeMap<Integer, ArrayList<T>>();
+	/** Arranged activities, which have no meetings */
+	private final ArrayList<T> arranged = new ArrayList<T>();
+	/** Number of activities in the index */
+	private int size;
+
+	/**
+	 * Constructs an empty index.
+	 */
+	public ActivityIntervalIndex() {
+		// Nothing is indexed until activities are added
+	}
+
+	/**
+	 * Constructs an index holding the given activities.
+	 *
+	 * @param activities activities to add
+	 */
+	public ActivityIntervalIndex(List<? extends T> activities) {
+		for (T activity : activities) {
+			add(activity);
+		}
+	}
+
+	/**
+	 * Returns the number of activities in the index.
+	 *
+	 * @return the number of activities
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Adds the activity to the index.
+	 *
+	 * @param activity activity to add
+	 */
+	public void add(T activity) {
+		if (activity.getMeetingCount() == 0) {
+			arranged.add(activity);
+		}
+		for (int m = 0; m < activity.getMeetingCount(); m++) {
+			for (int node : coveringNodes(activity.getMeetingStart(m), activity.getMeetingEnd(m))) {
+				tree.computeIfAbsent(node, k -> new ArrayList<T>()).add(activity);
+			}
+			starts.computeIfAbsent(activity.getMeetingStart(m), k -> new ArrayList<T>()).add(activity);
+		}
+		size++;
+	}
+
+	/**
+	 * Removes the activity from the index. The activity must be the same object that
+	 * was added, and must not have been changed since.
+	 *
+	 * @param activity activity to remove
+	 * @return true if the activity was in the index
+	 */
+	public boolean remove(T activity) {
+		if (activity.getMeetingCount() == 0) {
+			if (!removeSame(arranged, activity)) {
+				return false;
+			}
+		} else {
+			ArrayList<T> sameStart = starts.get(activity.getMeetingStart(0));
+			if (sameStart == null || !sameStart.stream().anyMatch(a -> a == activity)) {
+				return false;
+			}
+		}
+		for (int m = 0; m < activity.getMeetingCount(); m++) {
+			removeFrom(starts, activity.getMeetingStart(m), activity);
+			for (int node : coveringNodes(activity.getMeetingStart(m), activity.getMeetingEnd(m))) {
+				removeFrom(tree, node, activity);
+			}
+		}
+		size--;
+		return true;
+	}
+
+	/**
+	 * Returns every activity meeting on any of the given days at any time from the
+	 * start time to the end time, inclusive. Each activity is returned once.
+	 *
+	 * @param meetingDays days to check, such as "MW"
+	 * @param startTime   start of the time to check in military time
+	 * @param endTime     end of the time to check in military time
+	 * @return the activities overlapping the days and times
+	 */
+	public ArrayList<T> getOverlapping(String meetingDays, int startTime, int endTime) {
+		ArrayList<T> found = new ArrayList<T>();
+		find(toWeekWindows(meetingDays, startTime, endTime), null, found, false);
+		return found;
+	}
+
+	/**
+	 * Returns true if any activity meets on any of the given days at any time from the
+	 * start time to the end time, inclusive.
+	 *
+	 * @param meetingDays days to check, such as "MW"
+	 * @param startTime   start of the time to check in military time
+	 * @param endTime     end of the time to check in military time
+	 * @return true if an activity overlaps the days and times
+	 */
+	public boolean hasOverlap(String meetingDays, int startTime, int endTime) {
+		ArrayList<T> found = new ArrayList<T>();
+		find(toWeekWindows(meetingDays, startTime, endTime), null, found, true);
+		return !found.isEmpty();
+	}
+
+	/**
+	 * Returns every activity meeting at any time the given activity meets, including
+	 * the activity itself if it is in the index. Each activity is returned once.
+	 *
+	 * @param activity activity whose meetings to check
+	 * @return the activities overlapping the activity's meetings
+	 */
+	public ArrayList<T> getOverlapping(Activity activity) {
+		ArrayList<T> found = new ArrayList<T>();
+		find(toWeekWindows(activity), null, found, false);
+		return found;
+	}
+
+	/**
+	 * Returns true if any activity meets at any time the given activity meets,
+	 * including the activity itself if it is in the index.
+	 *
+	 * @param activity activity whose meetings to check
+	 * @return true if an activity overlaps the activity's meetings
+	 */
+	public boolean hasOverlap(Activity activity) {
+		ArrayList<T> found = new ArrayList<T>();
+		find(toWeekWindows(activity), null, found, true);
+		return !found.isEmpty();
+	}
+
+	/**
+	 * Returns every activity in the index that conflicts with the given activity, other
+	 * than the activity itself.
+	 *
+	 * @param activity activity to check
+	 * @return the conflicting activities
+	 */
+	public ArrayList<T> getConflicts(Activity activity) {
+		ArrayList<T> found = new ArrayList<T>();
+		find(toWeekWindows(activity), activity, found, false);
+		return found;
+	}
+
+	/**
+	 * Returns true if any activity in the index, other than the activity itself,
+	 * conflicts with the given activity.
+	 *
+	 * @param activity activity to check
+	 * @return true if there is a conflict
+	 */
+	public boolean hasConflict(Activity activity) {
+		ArrayList<T> found = new ArrayList<T>();
+		find(toWeekWindows(activity), activity, found, true);
+		return !found.isEmpty();
+	}
+
+	/**
+	 * Adds the activities overlapping any of the windows to found.
+	 *
+	 * @param windows   windows to check, as pairs of start and end minutes since the start of the week
+	 * @param self      activity to leave out, or null
+	 * @param found     list to add the activities to
+	 * @param firstOnly true to stop after the first activity is found
+	 */
+	private void find(int[] windows, Activity self, ArrayList<T> found, boolean firstOnly) {
+		// An activity meeting in more than one of the windows would be found once for each
+		Set<T> seen = windows.length > 2 ? Collections.newSetFromMap(new IdentityHashMap<T, Boolean>()) : null;
+		for (int w = 0; w < windows.length; w += 2) {
+			for (int node = LEAVES + windows[w]; node >= 1; node >>= 1) {
+				ArrayList<T> covering = tree.get(node);
+				if (covering != null && addAll(covering, self, seen, found, firstOnly)) {
+					return;
+				}
+			}
+			for (ArrayList<T> starting : starts.subMap(windows[w], false, windows[w + 1], true).values()) {
+				if (addAll(starting, self, seen, found, firstOnly)) {
+					return;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the activities to found, leaving out self and any already seen.
+	 *
+	 * @param activities activities to add
+	 * @param self       activity to leave out, or null
+	 * @param seen       activities already found, or null if none can be found twice
+	 * @param found      list to add the activities to
+	 * @param firstOnly  true to stop after the first activity is found
+	 * @return true if firstOnly is true and an activity was found
+	 */
+	private static <T> boolean addAll(ArrayList<T> activities, Activity self, Set<T> seen, ArrayList<T> found,
+			boolean firstOnly) {
+		for (T activity : activities) {
+			if (activity != self && (seen == null || seen.add(activity))) {
+				found.add(activity);
+				if (firstOnly) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the nodes of the segment tree that exactly cover the minutes from start
+	 * to end, inclusive.
+	 *
+	 * @param start first minute
+	 * @param end   last minute
+	 * @return the covering nodes
+	 */
+	private static ArrayList<Integer> coveringNodes(int start, int end) {
+		ArrayList<Integer> nodes = new ArrayList<Integer>();
+		for (int low = start + LEAVES, high = end + LEAVES + 1; low < high; low >>= 1, high >>= 1) {
+			if ((low & 1) == 1) {
+				nodes.add(low++);
+			}
+			if ((high & 1) == 1) {
+				nodes.add(--high);
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * Removes the activity from the list under the key, and the list if it is then empty.
+	 *
+	 * @param <T>      type of activity in the lists
+	 * @param lists    lists of activities by key
+	 * @param key      key of the list holding the activity
+	 * @param activity activity to remove
+	 */
+	private static <T> void removeFrom(Map<Integer, ArrayList<T>> lists, int key, T activity) {
+		ArrayList<T> list = lists.get(key);
+		removeSame(list, activity);
+		if (list.isEmpty()) {
+			lists.remove(key);
+		}
+	}
+
+	/**
+	 * Removes the given object from the list, comparing by identity.
+	 *
+	 * @param <T>      type of the list
+	 * @param list     list to remove from
+	 * @param activity object to remove
+	 * @return true if it was in the list
+	 */
+	private static <T> boolean removeSame(ArrayList<T> list, T activity) {
+		for (int i = 0; i < list.size(); i++) {
+			if (list.get(i) == activity) {
+				list.remove(i);
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Returns the windows of the activity's meetings.
+	 *
+	 * @param activity activity whose meetings to return
+	 * @return pairs of start and end minutes since the start of the week
+	 */
+	private static int[] toWeekWindows(Activity activity) {
+		int[] windows = new int[2 * activity.getMeetingCount()];
+		for (int m = 0; m < activity.getMeetingCount(); m++) {
+			windows[2 * m] = activity.getMeetingStart(m);
+			windows[2 * m + 1] = activity.getMeetingEnd(m);
+		}
+		return windows;
+	}
+
+	/**
+	 * Returns the windows of the given times on each of the days. Characters that are
+	 * not days, such as 'A' for arranged, are ignored.
+	 *
+	 * @param meetingDays days to check
+	 * @param startTime   start of the time to check in military time
+	 * @param endTime     end of the time to check in military time
+	 * @return pairs of start and end minutes since the start of the week
+	 */
+	private static int[] toWeekWindows(String meetingDays, int startTime, int endTime) {
+		int mask = 0;
+		for (int i = 0; i < meetingDays.length(); i++) {
+			int day = WEEK_DAYS.indexOf(meetingDays.charAt(i));
+			if (day >= 0) {
+				mask |= 1 << day;
+			}
+		}
+		int[] windows = new int[2 * Integer.bitCount(mask)];
+		for (int w = 0; mask != 0; w += 2, mask &= mask - 1) {
+			int dayStart = Integer.numberOfTrailingZeros(mask) * Activity.MINUTES_PER_DAY;
+			windows[w] = dayStart + Activity.toMinutes(startTime);
+			windows[w + 1] = dayStart + Activity.toMinutes(endTime);
+		}
+		return windows;
+	}
+
+}
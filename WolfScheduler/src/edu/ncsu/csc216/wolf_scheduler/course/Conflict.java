@@ -8,7 +8,9 @@ package edu.ncsu.csc216.wolf_scheduler.course;
  * activities. The method checkConflict(Activity) will
  * take into account the dates and times of the current
  * activity and the passed in activity to compare the two
- * and determine if their is a conflict. All methods are 
+ * and determine if their is a conflict, while
+ * conflictsWith(Activity) answers the same question
+ * without throwing. All methods are 
  * assumed to be public abstract methods that Activity
  * will implement.
  * 
@@ -27,4 +29,14 @@ public interface Conflict {
 	 */
 	void checkConflict(Activity possibleConflictingActivity) throws ConflictException;
 
+	/**
+	 * Used to compare the dates and times of the current
+	 * activity and a second, provided activity, to determine
+	 * if their is a conflict without throwing an exception.
+	 * 
+	 * @param possibleConflictingActivity Activity to compare
+	 * @return true if the two activities overlap
+	 */
+	boolean conflictsWith(Activity possibleConflictingActivity);
+
 }
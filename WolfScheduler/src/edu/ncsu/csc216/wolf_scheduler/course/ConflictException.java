@@ -6,7 +6,9 @@ package edu.ncsu.csc216.wolf_scheduler.course;
 /**
  * Checked exception that is used to notify the 
  * client of a conflict between the times / dates
- * of two Activities. 
+ * of two Activities. Exceptions created with the
+ * details of a conflict skip capturing a stack trace
+ * since they are thrown for expected schedule rejections.
  * 
  * @author Michael Richardson
  *
@@ -15,6 +17,14 @@ public class ConflictException extends Exception {
 
 	/** ID used for serialization. */
 	private static final long serialVersionUID = 1L;
+	/** Activity that caused the conflict, null if unknown */
+	private final transient Activity conflictingActivity;
+	/** Meeting days shared by the two activities, null if unknown */
+	private final String overlappingDays;
+	/** Start of the overlapping time window, -1 if unknown */
+	private final int overlapStartTime;
+	/** End of the overlapping time window, -1 if unknown */
+	private final int overlapEndTime;
 	
 	/**
 	 * Constructor of ConflictException that takes in 
@@ -24,6 +34,10 @@ public class ConflictException extends Exception {
 	 */
 	public ConflictException(String message) {
 		super(message);
+		this.conflictingActivity = null;
+		this.overlappingDays = null;
+		this.overlapStartTime = -1;
+		this.overlapEndTime = -1;
 	}
 	
 	/**
@@ -31,7 +45,58 @@ public class ConflictException extends Exception {
 	 * that provides the message "Schedule conflict."
 	 */
 	public ConflictException() {
-		super("Schedule conflict.");
+		this("Schedule conflict.");
+	}
+	
+	/**
+	 * Constructor of a lightweight ConflictException that provides the
+	 * message "Schedule conflict." and records the details of the conflict.
+	 * No stack trace is captured and suppression is disabled.
+	 * 
+	 * @param conflictingActivity the activity that was conflicted with
+	 * @param overlappingDays     the meeting days shared by both activities
+	 * @param overlapStartTime    start of the overlapping time window (military)
+	 * @param overlapEndTime      end of the overlapping time window (military)
+	 */
+	public ConflictException(Activity conflictingActivity, String overlappingDays, int overlapStartTime,
+			int overlapEndTime) {
+		super("Schedule conflict.", null, false, false);
+		this.conflictingActivity = conflictingActivity;
+		this.overlappingDays = overlappingDays;
+		this.overlapStartTime = overlapStartTime;
+		this.overlapEndTime = overlapEndTime;
+	}
+
+	/**
+	 * Returns the activity that was conflicted with
+	 * @return the conflictingActivity or null if unknown
+	 */
+	public Activity getConflictingActivity() {
+		return conflictingActivity;
+	}
+
+	/**
+	 * Returns the meeting days shared by the two activities
+	 * @return the overlappingDays or null if unknown
+	 */
+	public String getOverlappingDays() {
+		return overlappingDays;
+	}
+
+	/**
+	 * Returns the start of the overlapping time window
+	 * @return the overlapStartTime (military) or -1 if unknown
+	 */
+	public int getOverlapStartTime() {
+		return overlapStartTime;
+	}
+
+	/**
+	 * Returns the end of the overlapping time window
+	 * @return the overlapEndTime (military) or -1 if unknown
+	 */
+	public int getOverlapEndTime() {
+		return overlapEndTime;
 	}
 
 }
@@ -130,6 +130,7 @@ public class Course extends Activity {
 			throw new IllegalArgumentException("Invalid course name.");
 		}
 		this.name = name;
+		clearDisplayCache();
 	}
 
 	/**
@@ -156,6 +157,7 @@ public class Course extends Activity {
 			throw new IllegalArgumentException("Invalid section.");
 		}
 		this.section = section;
+		clearDisplayCache();
 	}
 
 	/**
@@ -179,6 +181,7 @@ public class Course extends Activity {
 			throw new IllegalArgumentException("Invalid credits.");
 		}
 		this.credits = credits;
+		clearDisplayCache();
 	}
 
 	/**
@@ -202,6 +205,7 @@ public class Course extends Activity {
 			throw new IllegalArgumentException("Invalid instructor id.");
 		}
 		this.instructorId = instructorId;
+		clearDisplayCache();
 	}
 
 	/**
@@ -212,11 +216,24 @@ public class Course extends Activity {
 	 */
 	@Override
 	public String toString() {
-		if ("A".equals(getMeetingDays())) {
-			return name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays();
+		StringBuilder record = new StringBuilder();
+		appendRecord(record);
+		return record.toString();
+	}
+
+	/**
+	 * Appends the comma separated value String of all Course fields to the builder.
+	 * The start and end times are left out of arranged courses.
+	 * 
+	 * @param record builder to append the record to
+	 */
+	@Override
+	public void appendRecord(StringBuilder record) {
+		record.append(name).append(',').append(getTitle()).append(',').append(section).append(',').append(credits)
+				.append(',').append(instructorId).append(',').append(getMeetingDays());
+		if (!"A".equals(getMeetingDays())) {
+			record.append(',').append(getStartTime()).append(',').append(getEndTime());
 		}
-		return name + "," + getTitle() + "," + section + "," + credits + "," + instructorId + "," + getMeetingDays() + ","
-				+ getStartTime() + "," + getEndTime();
 	}
 
 	/**
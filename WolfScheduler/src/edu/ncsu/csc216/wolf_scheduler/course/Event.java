@@ -76,6 +76,7 @@ public class Event extends Activity {
 			throw new IllegalArgumentException("Invalid event details.");
 		}
 		this.eventDetails = eventDetails;
+		clearDisplayCache();
 	}
 
 	/**
@@ -86,7 +87,20 @@ public class Event extends Activity {
 	 */
 	@Override
 	public String toString() {
-		return getTitle() + "," + getMeetingDays() + "," + getStartTime() + "," + getEndTime() + "," + eventDetails;
+		StringBuilder record = new StringBuilder();
+		appendRecord(record);
+		return record.toString();
+	}
+
+	/**
+	 * Appends the comma separated value String of all Event fields to the builder.
+	 * 
+	 * @param record builder to append the record to
+	 */
+	@Override
+	public void appendRecord(StringBuilder record) {
+		record.append(getTitle()).append(',').append(getMeetingDays()).append(',').append(getStartTime()).append(',')
+				.append(getEndTime()).append(',').append(eventDetails);
 	}
 	
 	/** 
@@ -1,12 +1,15 @@
 /**
- * 
+ *
  */
 package edu.ncsu.csc216.wolf_scheduler.io;
 
-import java.io.File;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 
@@ -18,19 +21,59 @@ import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 public class ActivityRecordIO {
 
     /**
-     * Writes the given list of Actvities to a file
+     * Writes the given list of Actvities to a file in UTF-8
      * @param fileName file to save to
      * @param activities list of course to save
      * @throws IOException if the file cannot be written
      */
     public static void writeActivityRecords(String fileName, ArrayList<Activity> activities) throws IOException {
-    	PrintStream fileWriter = new PrintStream(new File(fileName));
-    	
-    	for (Activity a : activities) {
-    		fileWriter.println(a.toString());
-    	}
-    	
-    	fileWriter.close();
+        writeActivityRecords(fileName, activities, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the given list of Activities to a file in the given charset.  Characters the
+     * charset cannot encode are replaced.
+     * @param fileName file to save to
+     * @param activities list of activities to save
+     * @param charset charset to write the file in
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeActivityRecords(String fileName, List<? extends Activity> activities, Charset charset)
+            throws IOException {
+        new ActivityRecordWriter(charset).write(Paths.get(fileName), activities);
+    }
+
+    /**
+     * Writes the given list of Activities to a file in the given charset without ever leaving
+     * the file partly written.  The records are written to a temporary file in the same
+     * directory, forced to the disk, and atomically moved over the file, so after a crash
+     * or a failed write the file holds either its old contents or all of the new records.
+     * Concurrent writes to the same file do not mix their records.
+     * @param fileName file to save to
+     * @param activities list of activities to save
+     * @param charset charset to write the file in
+     * @throws IOException if the file cannot be written or atomically replaced
+     */
+    public static void writeActivityRecordsAtomically(String fileName, List<? extends Activity> activities,
+            Charset charset) throws IOException {
+        new ActivityRecordWriter(charset).writeAtomically(Paths.get(fileName), activities);
+    }
+
+    /**
+     * Writes many schedules at once, each to its own file, in the given charset.  The same
+     * builder and buffers are reused for every schedule, so exporting thousands of schedules
+     * costs little more than opening their files.  Schedules are written in the
+     * iteration order of the map, and writing stops at the first file that cannot be written.
+     * @param schedules list of activities to save for each file name
+     * @param charset charset to write the files in
+     * @throws IOException if a file cannot be written
+     */
+    public static void writeSchedules(Map<String, ? extends List<? extends Activity>> schedules, Charset charset)
+            throws IOException {
+        ActivityRecordWriter writer = new ActivityRecordWriter(charset);
+        for (Map.Entry<String, ? extends List<? extends Activity>> schedule : schedules.entrySet()) {
+            writer.write(Paths.get(schedule.getKey()), schedule.getValue());
+        }
     }
 
 }
@@ -0,0 +1,200 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Writes activity records to files through one builder, encoder, and byte buffer that
+ * are reused for every record and every file. Records are appended to the builder with
+ * Activity.appendRecord() and encoded in batches, so no String is created for a record
+ * and the channel is written a buffer at a time. Characters the charset cannot encode
+ * are replaced, as a PrintStream would.
+ *
+ * @author Michael Richardson
+ */
+final class ActivityRecordWriter {
+
+	/** Number of characters of records collected before they are encoded */
+	private static final int BATCH_SIZE = 1 << 13;
+	/** Number of bytes written to the channel at a time */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Extension of the temporary files written before being moved into place */
+	private static final String TEMP_EXTENSION = ".tmp";
+	/** Separator written after every record */
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/** Records not yet encoded */
+	private final StringBuilder records = new StringBuilder(BATCH_SIZE + BATCH_SIZE / 2);
+	/** Encoder of the charset written */
+	private final CharsetEncoder encoder;
+	/** Characters of the records being encoded, grown when a batch does not fit */
+	private CharBuffer chars = CharBuffer.allocate(BATCH_SIZE + BATCH_SIZE / 2);
+	/** Bytes not yet written to the channel */
+	private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+
+	/**
+	 * Constructs a writer for the given charset.
+	 *
+	 * @param charset charset to encode the records with
+	 */
+	ActivityRecordWriter(Charset charset) {
+		encoder = charset.newEncoder().onMalformedInput(CodingErrorAction.REPLACE)
+				.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+
+	/**
+	 * Writes the activities to the file, replacing anything already in it.
+	 *
+	 * @param file       file to write
+	 * @param activities activities to write
+	 * @throws IOException if the file cannot be written
+	 */
+	void write(Path file, List<? extends Activity> activities) throws IOException {
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(channel, activities);
+		}
+	}
+
+	/**
+	 * Writes the activities to the file so that the file always holds either its old
+	 * contents or all of the new records, even if the program crashes or the disk fills
+	 * while writing. The records are written to a temporary file in the same directory,
+	 * forced to the disk, and then moved over the file in one atomic step. Writers of
+	 * the same file each use their own temporary file, so the file ends up holding the
+	 * records of whichever moved last. If the records cannot be written, the temporary
+	 * file is deleted and the file is left as it was.
+	 *
+	 * @param file       file to write
+	 * @param activities activities to write
+	 * @throws IOException if the file cannot be written, or the file system cannot
+	 *                     replace it atomically
+	 */
+	void writeAtomically(Path file, List<? extends Activity> activities) throws IOException {
+		Path target = file.toAbsolutePath();
+		Path directory = target.getParent();
+		Path temp = null;
+		FileChannel channel = null;
+		// Pick a name no other writer is using, keeping the usual permissions of new files
+		while (channel == null) {
+			String suffix = Long.toHexString(ThreadLocalRandom.current().nextLong());
+			temp = directory.resolve("." + target.getFileName() + "." + suffix + TEMP_EXTENSION);
+			try {
+				channel = FileChannel.open(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+			} catch (FileAlreadyExistsException e) {
+				// Try another name
+			}
+		}
+		try {
+			try {
+				write(channel, activities);
+				channel.force(true);
+			} finally {
+				channel.close();
+			}
+			Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException | RuntimeException e) {
+			try {
+				Files.deleteIfExists(temp);
+			} catch (IOException deleteFailure) {
+				e.addSuppressed(deleteFailure);
+			}
+			throw e;
+		}
+		forceDirectory(directory);
+	}
+
+	/**
+	 * Forces the directory's entries to the disk so that a file moved into it stays there
+	 * after a crash. Some file systems cannot open a directory to do this, in which case
+	 * the move is left to be saved when the file system next saves the directory.
+	 *
+	 * @param directory directory to force
+	 */
+	private static void forceDirectory(Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
+		} catch (IOException e) {
+			// The directory cannot be opened on this file system
+		}
+	}
+
+	/**
+	 * Writes the activities to the channel, one record per line.
+	 *
+	 * @param channel    channel to write to
+	 * @param activities activities to write
+	 * @throws IOException if the channel cannot be written
+	 */
+	void write(WritableByteChannel channel, List<? extends Activity> activities) throws IOException {
+		records.setLength(0);
+		bytes.clear();
+		encoder.reset();
+		for (int i = 0; i < activities.size(); i++) {
+			activities.get(i).appendRecord(records);
+			records.append(LINE_SEPARATOR);
+			if (records.length() >= BATCH_SIZE) {
+				encode(channel, false);
+			}
+		}
+		encode(channel, true);
+		while (encoder.flush(bytes) == CoderResult.OVERFLOW) {
+			drain(channel);
+		}
+		drain(channel);
+	}
+
+	/**
+	 * Encodes the collected records into the byte buffer, writing the buffer to the
+	 * channel whenever it fills. If the records end in half of a surrogate pair and more
+	 * records will follow, that half is kept to be encoded with the next batch.
+	 *
+	 * @param channel    channel to write to
+	 * @param endOfInput true if no more records will follow
+	 * @throws IOException if the channel cannot be written
+	 */
+	private void encode(WritableByteChannel channel, boolean endOfInput) throws IOException {
+		int length = records.length();
+		if (chars.capacity() < length) {
+			chars = CharBuffer.allocate(length);
+		}
+		chars.clear();
+		records.getChars(0, length, chars.array(), 0);
+		chars.limit(length);
+		while (encoder.encode(chars, bytes, endOfInput) == CoderResult.OVERFLOW) {
+			drain(channel);
+		}
+		records.delete(0, chars.position());
+	}
+
+	/**
+	 * Writes every byte in the byte buffer to the channel and empties the buffer.
+	 *
+	 * @param channel channel to write to
+	 * @throws IOException if the channel cannot be written
+	 */
+	private void drain(WritableByteChannel channel) throws IOException {
+		bytes.flip();
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+		bytes.clear();
+	}
+
+}
@@ -1,10 +1,26 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
 import java.util.ArrayList;
-import java.util.NoSuchElementException;
-import java.util.Scanner;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 
@@ -16,6 +32,19 @@ import edu.ncsu.csc216.wolf_scheduler.course.Course;
  */
 public class CourseRecordIO {
 
+    /** Initial size of the buffer used to read course records */
+    private static final int BUFFER_SIZE = 1 << 16;
+    /** Number of chunks to split a file into for each thread when reading in parallel */
+    private static final int CHUNKS_PER_THREAD = 4;
+    /** Minimum number of bytes in a chunk when reading in parallel */
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+    /** Maximum number of bytes in a chunk when reading in parallel, unless a line is longer */
+    private static final int MAX_CHUNK_SIZE = 1 << 26;
+    /** Number of bytes read at a time when searching for the start of a line */
+    private static final int LINE_SEARCH_SIZE = 1 << 12;
+    /** Extension added to the name of a course record file to name its snapshot */
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
     /**
      * Reads course records from a file and generates a list of valid Courses.  Any invalid
      * Courses are ignored.  If the file to read cannot be found or the permissions are incorrect
@@ -25,91 +54,483 @@ public class CourseRecordIO {
      * @throws FileNotFoundException if the file cannot be found or read
      */
     public static ArrayList<Course> readCourseRecords(String fileName) throws FileNotFoundException {
-    	Scanner fileReader = new Scanner(new FileInputStream(fileName));  //Create a file scanner to read the file
+        Reader fileReader = new InputStreamReader(new FileInputStream(fileName)); //Create a reader for the file
         ArrayList<Course> courses = new ArrayList<Course>(); //Create an empty array of Course objects
-        while (fileReader.hasNextLine()) { //While we have more lines in the file 
-            try { //Attempt to do the following
-                //Read the line, process it in readCourse, and get the object
-                //If trying to construct a Course in readCourse() results in an exception, flow of control will transfer to the catch block, below
-                Course course = readCourse(fileReader.nextLine()); 
-
-                //Create a flag to see if the newly created Course is a duplicate of something already in the list  
-                boolean duplicate = false;
-                //Look at all the courses in our list
-                for (int i = 0; i < courses.size(); i++) {
-                    //Get the course at index i
-                    Course current = courses.get(i);
-                    //Check if the name and section are the same
-                    if (course.getName().equals(current.getName()) &&
-                            course.getSection().equals(current.getSection())) {
-                        //It's a duplicate!
-                        duplicate = true;
-                        break; //We can break out of the loop, no need to continue searching
-                    }
+        HashSet<String> courseKeys = new HashSet<String>(); //Create an empty set of the name and section of each course in the list
+        CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(); //Reused to parse every line
+        char[] buffer = new char[BUFFER_SIZE];
+        int lineStart = 0; //Start of the first line that has not been read
+        int limit = 0; //Number of characters in the buffer
+        try {
+            int read;
+            while ((read = fileReader.read(buffer, limit, buffer.length - limit)) != -1) {
+                limit += read;
+                lineStart = readLines(tokenizer, buffer, lineStart, limit, false, courses, courseKeys);
+                //Move the partial line to the front of the buffer, growing it if the line fills it
+                System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+                limit -= lineStart;
+                lineStart = 0;
+                if (limit == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
                 }
-                //If the course is NOT a duplicate
-                if (!duplicate) {
-                    courses.add(course); //Add to the ArrayList!
-                } //Otherwise ignore
-            } catch (IllegalArgumentException e) {
-                //The line is invalid b/c we couldn't create a course, skip it!
             }
+        } catch (IOException e) {
+            //Like a Scanner, treat an error reading the file as the end of the file
         }
-        //Close the Scanner b/c we're responsible with our file handles
-        fileReader.close();
+        //The last line may not end with a line separator
+        readLines(tokenizer, buffer, lineStart, limit, true, courses, courseKeys);
+        //Close the Reader b/c we're responsible with our file handles
+        close(fileReader);
         //Return the ArrayList with all the courses we read!
         return courses;
     }
-    
-	/**
-	 * Static delegate method used to convert the CSV line of each course in the file to
-	 * a new Course object and return it to the readCourseRecords() method
-	 * @param line consisting of a single CSV line of course data
-	 * @return course representing the course created from the provided line
-	 * @throws IllegalArgumentException if the course cannot be created from the given data
-	 */
-    private static Course readCourse(String line) throws IllegalArgumentException {
-    	// Initialize a Scanner object to parse the course line passed in 
-    	Scanner lineReader = new Scanner(line);
-    	lineReader.useDelimiter(","); // Set the delimiter to use commas as opposed to white space
-    	
-    	// Attempt to parse the line and create a new Course object
-    	try {
-    		// Gather the base fields of Course
-    		String name = lineReader.next();
-    		String title = lineReader.next();
-    		String section = lineReader.next();
-    		int creditHours = lineReader.nextInt();
-    		String instructor = lineReader.next();
-    		String meetingDays = lineReader.next();
-    		
-    		// Check to see if the course is asynchronous
-    		if ("A".equals(meetingDays)) {
-    			if (lineReader.hasNext()) { // If the course is asynchronous and has a meeting time, throw an IAE
-    	    		lineReader.close(); // Prevent memory leaks
-    				throw new IllegalArgumentException();
-    			} // Otherwise, return the new Course object using the fields from above
-        		lineReader.close(); // Prevent memory leaks
-    			return new Course(name, title, section, creditHours, instructor, meetingDays);
-    		}
-
-    		// The course is not asynchronous, so gather the start and end time fields
-    		int startTime = lineReader.nextInt();
-    		int endTime = lineReader.nextInt();
-    		
-    		// If there are additional fields in the line, throw an IAE
-    		if (lineReader.hasNext()) {
-        		lineReader.close(); // Prevent memory leaks
-				throw new IllegalArgumentException();
-			} // Otherwise, return the new Course object using the fields from above
-    		lineReader.close(); // Prevent memory leaks
-    		return new Course(name, title, section, creditHours, instructor, meetingDays, startTime, endTime); 
-    	
-    	// If there is an error with parsing the line, throw an IAE so readCourseRecords() can handle the error
-    	} catch (NoSuchElementException e) { // Catches InputMismatchException as well 
-    		lineReader.close(); // Prevent memory leaks
-    		throw new IllegalArgumentException(); // Pass the exception onto the caller readCourseRecords() method
-    	}
+
+    /**
+     * Reads course records from a file using all threads of the common ForkJoinPool and
+     * generates a list of valid Courses.  The file is split by byte offset into chunks of
+     * whole lines, and each chunk is mapped, decoded, and parsed in its own task, so no
+     * thread reads the whole file and only the chunks being parsed are held as characters.
+     * Chunks end just after a line feed and are at most MAX_CHUNK_SIZE bytes unless a line
+     * is longer, so files larger than the largest array can be read.  The chunks are merged
+     * in file order so duplicates are removed exactly as in readCourseRecords(String): the
+     * first record wins.  The file is decoded with the default charset, like
+     * readCourseRecords(String); if a line feed in that charset is not the single byte 0x0A
+     * the file is read as one chunk.  If the file to read cannot be found or the permissions
+     * are incorrect a FileNotFoundException is thrown.
+     * @param fileName file to read Course records from
+     * @return a list of valid Courses, equal to the list returned by readCourseRecords(String)
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+    public static ArrayList<Course> readCourseRecordsInParallel(String fileName) throws FileNotFoundException {
+        FileInputStream fileStream = new FileInputStream(fileName);
+        FileChannel channel = fileStream.getChannel();
+        Charset charset = Charset.defaultCharset();
+        ArrayList<ArrayList<Course>> chunkCourses = new ArrayList<ArrayList<Course>>();
+        try {
+            long size = channel.size();
+
+            //Split the file into chunks that start at the beginning of a line
+            ForkJoinPool pool = ForkJoinPool.commonPool();
+            long chunks = Math.min(pool.getParallelism() * CHUNKS_PER_THREAD, size / MIN_CHUNK_SIZE);
+            chunks = Math.max(1, Math.max(chunks, (size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE));
+            if (!Arrays.equals("\n".getBytes(charset), new byte[] {'\n'})) {
+                chunks = 1;
+            }
+            long[] bounds = new long[(int) chunks + 1];
+            for (int i = 1; i < chunks; i++) {
+                bounds[i] = nextLineStart(channel, Math.max(bounds[i - 1], size * i / chunks), size);
+            }
+            bounds[(int) chunks] = size;
+
+            //Parse the chunks in parallel, then merge them in order keeping the first of any duplicates
+            chunkCourses.addAll(Collections.nCopies((int) chunks, (ArrayList<Course>) null));
+            pool.invoke(new ReadChunksTask(channel, charset, bounds, 0, (int) chunks, chunkCourses));
+        } catch (IOException e) {
+            //Like a Scanner, treat an error reading the file as the end of the file
+        }
+        try {
+            fileStream.close();
+        } catch (IOException e) {
+            //Nothing else can be done with the file
+        }
+        ArrayList<Course> courses = new ArrayList<Course>();
+        HashSet<String> courseKeys = new HashSet<String>();
+        for (ArrayList<Course> chunk : chunkCourses) {
+            if (chunk == null) {
+                break; //The chunk could not be read, so treat it as the end of the file
+            }
+            for (Course course : chunk) {
+                if (courseKeys.add(course.getName() + "," + course.getSection())) {
+                    courses.add(course);
+                }
+            }
+        }
+        return courses;
+    }
+
+    /**
+     * Returns a stream of the valid Courses in a file, in file order, reading the file as
+     * the stream is consumed so that only part of the file is in memory at a time.  Any
+     * invalid Courses are ignored.  Unlike readCourseRecords(String), duplicates of a name
+     * and section are not removed, since that would need memory for every course.  The
+     * stream supports parallel processing, which parses batches of lines on multiple
+     * threads.  The stream must be closed to close the file, for example with a
+     * try-with-resources statement.  If the file to read cannot be found or the
+     * permissions are incorrect a FileNotFoundException is thrown.
+     * @param fileName file to read Course records from
+     * @return a stream of the valid Courses in the file
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+    public static Stream<Course> streamCourseRecords(String fileName) throws FileNotFoundException {
+        Reader fileReader = new InputStreamReader(new FileInputStream(fileName)); //Create a reader for the file
+        return StreamSupport.stream(new CourseRecordSpliterator(fileReader), false).onClose(() -> close(fileReader));
+    }
+
+    /**
+     * Reads course records from a UTF-8 (or ASCII) encoded file by memory mapping it and
+     * parsing the records straight from the mapped bytes, and generates a list of valid
+     * Courses.  Any invalid Courses are ignored and the first record wins for duplicates,
+     * as in readCourseRecords(String).  If the file to read cannot be found or the
+     * permissions are incorrect a FileNotFoundException is thrown.
+     * @param fileName file to read Course records from
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+    public static ArrayList<Course> readCourseRecordsMapped(String fileName) throws FileNotFoundException {
+        FileInputStream fileStream = new FileInputStream(fileName);
+        FileChannel channel = fileStream.getChannel();
+        ArrayList<Course> courses = new ArrayList<Course>(); //Create an empty array of Course objects
+        HashSet<String> courseKeys = new HashSet<String>(); //Create an empty set of the name and section of each course in the list
+        CourseRecordTokenizer tokenizer = new CourseRecordTokenizer(); //Reused to parse every line
+        try {
+            long size = channel.size();
+            long offset = 0;
+            //A single mapping is limited to Integer.MAX_VALUE bytes, so larger files are mapped in parts
+            while (offset < size) {
+                int length = (int) Math.min(Integer.MAX_VALUE, size - offset);
+                boolean endOfInput = offset + length == size;
+                MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+                int read = readMappedLines(tokenizer, bytes, length, endOfInput, courses, courseKeys);
+                if (read == 0 && !endOfInput) {
+                    //A line longer than a whole mapping is read as if the file ended there
+                    read = readMappedLines(tokenizer, bytes, length, true, courses, courseKeys);
+                }
+                offset += read;
+            }
+        } catch (IOException e) {
+            //Like a Scanner, treat an error reading the file as the end of the file
+        }
+        //Close the stream and its channel b/c we're responsible with our file handles
+        try {
+            fileStream.close();
+        } catch (IOException e) {
+            //Nothing else can be done with the file
+        }
+        return courses;
+    }
+
+    /**
+     * Reads the courses of a catalog from the binary snapshot of its course record file if
+     * the snapshot was modified after the course record file, and from the course record
+     * file otherwise.  A snapshot that cannot be read is ignored.  If the course record file
+     * cannot be found or the permissions are incorrect a FileNotFoundException is thrown.
+     * @param fileName file to read Course records from
+     * @return a list of valid Courses
+     * @throws FileNotFoundException if the file cannot be found or read
+     */
+    public static ArrayList<Course> readCourseRecordsWithSnapshot(String fileName) throws FileNotFoundException {
+        File file = new File(fileName);
+        File snapshot = new File(getSnapshotFileName(fileName));
+        if (file.isFile() && snapshot.isFile() && snapshot.lastModified() > file.lastModified()) {
+            try {
+                return readCourseSnapshot(snapshot.getPath());
+            } catch (IOException e) {
+                //The snapshot is unusable, so read the course records instead
+            }
+        }
+        return readCourseRecords(fileName);
+    }
+
+    /**
+     * Returns the name of the snapshot file used by readCourseRecordsWithSnapshot(String)
+     * for the given course record file.
+     * @param fileName course record file
+     * @return name of the snapshot file
+     */
+    public static String getSnapshotFileName(String fileName) {
+        return fileName + SNAPSHOT_EXTENSION;
+    }
+
+    /**
+     * Writes the given list of Courses to a file in the binary snapshot format.  Each distinct
+     * name, title, section, instructor, and meeting days String is written once, and the
+     * start and end times of each course are packed into a single integer.
+     * @param fileName file to save to
+     * @param courses list of courses to save
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCourseSnapshot(String fileName, List<Course> courses) throws IOException {
+        CourseSnapshot.write(fileName, courses);
+    }
+
+    /**
+     * Reads a list of Courses from a file in the binary snapshot format, in the order they
+     * were written.
+     * @param fileName file to read the snapshot from
+     * @return a list of the Courses in the snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     */
+    public static ArrayList<Course> readCourseSnapshot(String fileName) throws IOException {
+        return CourseSnapshot.read(fileName);
+    }
+
+    /**
+     * Reads every complete line of UTF-8 encoded course data in the first length bytes of
+     * the buffer and adds the valid Courses to the list.  Lines end at the same line
+     * separators as in readLines(), including the multi-byte NEL, LS, and PS separators.
+     * If the end of the input has not been reached, a line that may not be complete is
+     * left unread.
+     * @param tokenizer tokenizer used to parse each line
+     * @param bytes buffer holding the lines
+     * @param length number of bytes in the buffer
+     * @param endOfInput true if no more bytes will follow the buffer
+     * @param courses list of courses read so far
+     * @param courseKeys name and section of each course in the list
+     * @return index of the first byte that was not read
+     */
+    private static int readMappedLines(CourseRecordTokenizer tokenizer, ByteBuffer bytes, int length,
+            boolean endOfInput, ArrayList<Course> courses, HashSet<String> courseKeys) {
+        int lineStart = 0;
+        int i = 0;
+        while (i < length) {
+            byte b = bytes.get(i);
+            int separatorLength = 0;
+            if (b == '\n' || b == '\r') {
+                separatorLength = 1;
+            } else if (b == (byte) 0xC2 || b == (byte) 0xE2) {
+                if (!endOfInput && length - i < 3) {
+                    return lineStart; //Wait for more input to see if this starts a separator
+                }
+                if (b == (byte) 0xC2 && i + 1 < length && bytes.get(i + 1) == (byte) 0x85) {
+                    separatorLength = 2; //U+0085
+                } else if (b == (byte) 0xE2 && i + 2 < length && bytes.get(i + 1) == (byte) 0x80
+                        && (bytes.get(i + 2) == (byte) 0xA8 || bytes.get(i + 2) == (byte) 0xA9)) {
+                    separatorLength = 3; //U+2028 or U+2029
+                }
+            }
+            if (separatorLength == 0) {
+                i++;
+                continue;
+            }
+            if (b == '\r') {
+                if (i + 1 == length && !endOfInput) {
+                    return lineStart; //Wait for more input to see if a line feed follows
+                }
+                if (i + 1 < length && bytes.get(i + 1) == '\n') {
+                    separatorLength = 2; //The line ended with a carriage return and line feed
+                }
+            }
+            addCourse(tokenizer, bytes, lineStart, i, courses, courseKeys);
+            i += separatorLength;
+            lineStart = i;
+        }
+        if (endOfInput && lineStart < length) {
+            addCourse(tokenizer, bytes, lineStart, length, courses, courseKeys);
+            lineStart = length;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Reads every complete line of course data in the buffer from start (inclusive) to end
+     * (exclusive) and adds the valid Courses to the list.  If the end of the input has not
+     * been reached, a line without a line separator is left unread.  A carriage return at
+     * the end of the data is also left unread, since it may be followed by a line feed.
+     * @param tokenizer tokenizer used to parse each line
+     * @param buffer buffer holding the lines
+     * @param start index of the first character of the first line
+     * @param end index just past the last character in the buffer
+     * @param endOfInput true if no more characters will follow the buffer
+     * @param courses list of courses read so far
+     * @param courseKeys name and section of each course in the list, or null to keep duplicates
+     * @return index of the first character that was not read
+     */
+    private static int readLines(CourseRecordTokenizer tokenizer, char[] buffer, int start, int end,
+            boolean endOfInput, ArrayList<Course> courses, HashSet<String> courseKeys) {
+        int lineStart = start;
+        for (int i = start; i < end; i++) {
+            char c = buffer[i];
+            if (isLineSeparator(c)) {
+                if (c == '\r' && i + 1 == end && !endOfInput) {
+                    return lineStart; //Wait for more input to see if a line feed follows
+                }
+                addCourse(tokenizer, buffer, lineStart, i, courses, courseKeys);
+                if (c == '\r' && i + 1 < end && buffer[i + 1] == '\n') {
+                    i++; //The line ended with a carriage return and line feed
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (endOfInput && lineStart < end) {
+            addCourse(tokenizer, buffer, lineStart, end, courses, courseKeys);
+            lineStart = end;
+        }
+        return lineStart;
+    }
+
+    /**
+     * Returns the offset just past the first line feed at or after from - 1 in the file, so
+     * the offset is the start of a line, or the size of the file if there is none.
+     * @param channel channel of the file
+     * @param from smallest offset to return
+     * @param size size of the file
+     * @return offset of the start of a line
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        if (from == 0) {
+            return 0;
+        }
+        ByteBuffer bytes = ByteBuffer.allocate(LINE_SEARCH_SIZE);
+        long offset = from - 1;
+        while (offset < size) {
+            bytes.clear();
+            int read = channel.read(bytes, offset);
+            if (read == -1) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (bytes.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+
+    /**
+     * Closes the reader, ignoring any error since nothing else can be done with the file.
+     * @param reader reader to close
+     */
+    private static void close(Reader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            //Nothing else can be done with the file
+        }
+    }
+
+    /**
+     * Returns true if the character ends a line, using the same line separators as
+     * Scanner.nextLine().
+     * @param c the character to check
+     * @return true if the character is a line separator
+     */
+    static boolean isLineSeparator(char c) {
+        return c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085';
+    }
+
+    /**
+     * Converts a single line of course data to a Course and adds it to the list of
+     * courses unless it is a duplicate of a course already in the list.  Invalid lines
+     * are skipped.
+     * @param tokenizer tokenizer used to parse the line
+     * @param buffer buffer holding the line
+     * @param start index of the first character of the line
+     * @param end index just past the last character of the line
+     * @param courses list of courses read so far
+     * @param courseKeys name and section of each course in the list, or null to keep duplicates
+     */
+    private static void addCourse(CourseRecordTokenizer tokenizer, char[] buffer, int start, int end,
+            ArrayList<Course> courses, HashSet<String> courseKeys) {
+        try { //Attempt to do the following
+            //Process the line and get the object
+            //If trying to construct a Course results in an exception, flow of control will transfer to the catch block, below
+            Course course = tokenizer.readCourse(buffer, start, end);
+
+            //Add the name and section to the set, which fails if the newly created Course is a duplicate
+            //of something already in the list.  The name never contains a comma, so the key is unique
+            if (courseKeys == null || courseKeys.add(course.getName() + "," + course.getSection())) {
+                courses.add(course); //Add to the ArrayList!
+            } //Otherwise ignore, the first record wins
+        } catch (IllegalArgumentException e) {
+            //The line is invalid b/c we couldn't create a course, skip it!
+        }
+    }
+
+    /**
+     * Converts a single UTF-8 encoded line of course data to a Course and adds it to the
+     * list of courses unless it is a duplicate of a course already in the list.  Invalid
+     * lines are skipped.
+     * @param tokenizer tokenizer used to parse the line
+     * @param bytes buffer holding the line
+     * @param start index of the first byte of the line
+     * @param end index just past the last byte of the line
+     * @param courses list of courses read so far
+     * @param courseKeys name and section of each course in the list
+     */
+    private static void addCourse(CourseRecordTokenizer tokenizer, ByteBuffer bytes, int start, int end,
+            ArrayList<Course> courses, HashSet<String> courseKeys) {
+        try {
+            Course course = tokenizer.readCourse(bytes, start, end);
+            if (courseKeys.add(course.getName() + "," + course.getSection())) {
+                courses.add(course);
+            }
+        } catch (IllegalArgumentException e) {
+            //The line is invalid b/c we couldn't create a course, skip it!
+        }
+    }
+
+    /**
+     * Parses a range of chunks of a file in parallel by splitting the range in half until
+     * a single chunk is left.  The valid Courses of each chunk are stored at the chunk's
+     * index, including duplicates, so they can be merged in file order.
+     */
+    private static class ReadChunksTask extends RecursiveAction {
+
+        /** ID used for serialization. */
+        private static final long serialVersionUID = 1L;
+        /** Channel of the file */
+        private final FileChannel channel;
+        /** Charset the file is decoded with */
+        private final Charset charset;
+        /** Offset of the start of each chunk, followed by the size of the file */
+        private final long[] bounds;
+        /** First chunk to parse */
+        private final int low;
+        /** Chunk just past the last chunk to parse */
+        private final int high;
+        /** Courses read from each chunk, left null for a chunk that could not be read */
+        private final ArrayList<ArrayList<Course>> chunkCourses;
+
+        /**
+         * Constructs a task that parses the chunks from low (inclusive) to high (exclusive).
+         * @param channel channel of the file
+         * @param charset charset the file is decoded with
+         * @param bounds offset of the start of each chunk, followed by the size of the file
+         * @param low first chunk to parse
+         * @param high chunk just past the last chunk to parse
+         * @param chunkCourses courses read from each chunk
+         */
+        ReadChunksTask(FileChannel channel, Charset charset, long[] bounds, int low, int high,
+                ArrayList<ArrayList<Course>> chunkCourses) {
+            this.channel = channel;
+            this.charset = charset;
+            this.bounds = bounds;
+            this.low = low;
+            this.high = high;
+            this.chunkCourses = chunkCourses;
+        }
+
+        /**
+         * Parses the chunk if there is only one, otherwise splits the range in half.
+         */
+        @Override
+        protected void compute() {
+            if (high - low == 1) {
+                try {
+                    long length = bounds[high] - bounds[low];
+                    if (length > Integer.MAX_VALUE) {
+                        throw new IOException("Line too long.");
+                    }
+                    MappedByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, bounds[low], length);
+                    //Decode like an InputStreamReader, replacing anything the charset cannot decode
+                    CharBuffer chars = charset.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                            .onUnmappableCharacter(CodingErrorAction.REPLACE).decode(bytes);
+                    ArrayList<Course> courses = new ArrayList<Course>();
+                    readLines(new CourseRecordTokenizer(), chars.array(), chars.arrayOffset(),
+                            chars.arrayOffset() + chars.limit(), true, courses, null);
+                    chunkCourses.set(low, courses);
+                } catch (IOException e) {
+                    //Leave the chunk null so it and the rest of the file are ignored
+                }
+            } else {
+                int middle = (low + high) >>> 1;
+                invokeAll(new ReadChunksTask(channel, charset, bounds, low, middle, chunkCourses),
+                        new ReadChunksTask(channel, charset, bounds, middle, high, chunkCourses));
+            }
+        }
     }
 
 }
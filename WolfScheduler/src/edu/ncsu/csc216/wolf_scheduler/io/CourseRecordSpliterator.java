@@ -0,0 +1,302 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Spliterator over the valid Courses of a course record file. Lines are read from the
+ * Reader as they are needed, so only the current part of the file is held in memory.
+ * Invalid lines are skipped, but duplicate names and sections are not removed since
+ * that would need memory for every course in the file. Splitting reads a batch of whole
+ * lines that is then parsed on its own, so a parallel stream parses batches on multiple
+ * threads while this spliterator keeps reading the file in order.
+ *
+ * @author Michael Richardson
+ */
+class CourseRecordSpliterator implements Spliterator<Course> {
+
+	/** Initial size of the buffer used to read course records */
+	private static final int BUFFER_SIZE = 1 << 16;
+	/** Number of characters in the first batch split off for parallel parsing */
+	private static final int INITIAL_BATCH_SIZE = 1 << 16;
+	/** Largest number of characters in a batch split off for parallel parsing */
+	private static final int MAX_BATCH_SIZE = 1 << 24;
+
+	/** Reader for the file */
+	private final Reader reader;
+	/** Tokenizer used to parse each line */
+	private final CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+	/** Buffer holding the part of the file that has been read */
+	private char[] buffer = new char[BUFFER_SIZE];
+	/** Start of the first line in the buffer that has not been parsed */
+	private int lineStart;
+	/** Number of characters in the buffer */
+	private int limit;
+	/** True once the whole file has been read */
+	private boolean endOfInput;
+	/** Number of characters in the next batch split off */
+	private int batchSize = INITIAL_BATCH_SIZE;
+
+	/**
+	 * Constructs a spliterator over the course records read from the given Reader.
+	 * The Reader is not closed by the spliterator.
+	 *
+	 * @param reader reader for the file
+	 */
+	CourseRecordSpliterator(Reader reader) {
+		this.reader = reader;
+	}
+
+	/**
+	 * Parses lines until a valid Course is found and passes it to the action.
+	 *
+	 * @param action action to perform on the next Course
+	 * @return false if there are no more Courses
+	 */
+	@Override
+	public boolean tryAdvance(Consumer<? super Course> action) {
+		while (true) {
+			int lineEnd = lineEnd(buffer, lineStart, limit);
+			boolean complete = lineEnd < limit && !(buffer[lineEnd] == '\r' && lineEnd + 1 == limit && !endOfInput);
+			if (complete || (endOfInput && lineStart < limit)) {
+				Course course = readCourse(buffer, lineStart, lineEnd);
+				lineStart = nextLineStart(buffer, lineEnd, limit);
+				if (course != null) {
+					action.accept(course);
+					return true;
+				}
+			} else if (endOfInput) {
+				return false;
+			} else {
+				fill();
+			}
+		}
+	}
+
+	/**
+	 * Splits off a batch of whole lines that are parsed by the returned spliterator. Each
+	 * batch is larger than the last, up to a limit.
+	 *
+	 * @return spliterator over the next batch of lines, or null if the file has been read
+	 */
+	@Override
+	public Spliterator<Course> trySplit() {
+		while (!endOfInput && limit - lineStart < batchSize) {
+			fill();
+		}
+		int end = Math.min(limit, lineStart + batchSize);
+		// Cut the batch after the last whole line, holding back a trailing carriage return
+		int cut = end;
+		if (!endOfInput || end < limit) {
+			cut = lineStart;
+			for (int i = end - 1; i >= lineStart; i--) {
+				if (CourseRecordIO.isLineSeparator(buffer[i]) && !(buffer[i] == '\r' && i + 1 == limit && !endOfInput)) {
+					cut = nextLineStart(buffer, i, limit);
+					break;
+				}
+			}
+		}
+		if (cut == lineStart) {
+			return null;
+		}
+		char[] batch = Arrays.copyOfRange(buffer, lineStart, cut);
+		lineStart = cut;
+		batchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+		return new BatchSpliterator(batch, 0, batch.length);
+	}
+
+	/**
+	 * Returns Long.MAX_VALUE since the number of Courses is unknown.
+	 *
+	 * @return Long.MAX_VALUE
+	 */
+	@Override
+	public long estimateSize() {
+		return Long.MAX_VALUE;
+	}
+
+	/**
+	 * Returns the characteristics of the spliterator: the Courses are in file order and
+	 * never null.
+	 *
+	 * @return the characteristics of the spliterator
+	 */
+	@Override
+	public int characteristics() {
+		return ORDERED | NONNULL;
+	}
+
+	/**
+	 * Reads more of the file into the buffer, first moving the unparsed lines to the front
+	 * and growing the buffer if they fill it.
+	 */
+	private void fill() {
+		System.arraycopy(buffer, lineStart, buffer, 0, limit - lineStart);
+		limit -= lineStart;
+		lineStart = 0;
+		if (limit == buffer.length) {
+			buffer = Arrays.copyOf(buffer, buffer.length * 2);
+		}
+		try {
+			int read = reader.read(buffer, limit, buffer.length - limit);
+			if (read == -1) {
+				endOfInput = true;
+			} else {
+				limit += read;
+			}
+		} catch (IOException e) {
+			// Like a Scanner, treat an error reading the file as the end of the file
+			endOfInput = true;
+		}
+	}
+
+	/**
+	 * Converts a line to a Course, or returns null if the line is invalid.
+	 *
+	 * @param lines buffer holding the line
+	 * @param start index of the first character of the line
+	 * @param end   index just past the last character of the line
+	 * @return the Course, or null if the line is invalid
+	 */
+	private Course readCourse(char[] lines, int start, int end) {
+		try {
+			return tokenizer.readCourse(lines, start, end);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns the index of the line separator ending the line that starts at the given
+	 * index, or end if no line separator is found.
+	 *
+	 * @param lines buffer holding the lines
+	 * @param start index of the first character of the line
+	 * @param end   index just past the last character in the buffer
+	 * @return index of the line separator or end
+	 */
+	private static int lineEnd(char[] lines, int start, int end) {
+		int i = start;
+		while (i < end && !CourseRecordIO.isLineSeparator(lines[i])) {
+			i++;
+		}
+		return i;
+	}
+
+	/**
+	 * Returns the index after the line separator at the given index, treating a carriage
+	 * return and line feed as one separator.
+	 *
+	 * @param lines   buffer holding the lines
+	 * @param lineEnd index of the line separator, or end if there is none
+	 * @param end     index just past the last character in the buffer
+	 * @return index of the start of the next line
+	 */
+	private static int nextLineStart(char[] lines, int lineEnd, int end) {
+		if (lineEnd >= end) {
+			return end;
+		}
+		if (lines[lineEnd] == '\r' && lineEnd + 1 < end && lines[lineEnd + 1] == '\n') {
+			return lineEnd + 2;
+		}
+		return lineEnd + 1;
+	}
+
+	/**
+	 * Spliterator over the valid Courses in a batch of whole lines that has already been
+	 * read from the file. It can be split again at a line boundary near its middle.
+	 */
+	private static class BatchSpliterator implements Spliterator<Course> {
+
+		/** Tokenizer used to parse each line */
+		private final CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+		/** Lines of the batch */
+		private final char[] lines;
+		/** Start of the next line to parse */
+		private int position;
+		/** Index just past the last line of this spliterator */
+		private final int end;
+
+		/**
+		 * Constructs a spliterator over the lines from start (inclusive) to end (exclusive).
+		 *
+		 * @param lines lines of the batch
+		 * @param start start of the first line
+		 * @param end   index just past the last line
+		 */
+		BatchSpliterator(char[] lines, int start, int end) {
+			this.lines = lines;
+			this.position = start;
+			this.end = end;
+		}
+
+		/**
+		 * Parses lines until a valid Course is found and passes it to the action.
+		 *
+		 * @param action action to perform on the next Course
+		 * @return false if there are no more Courses
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super Course> action) {
+			while (position < end) {
+				int lineEnd = lineEnd(lines, position, end);
+				Course course = null;
+				try {
+					course = tokenizer.readCourse(lines, position, lineEnd);
+				} catch (IllegalArgumentException e) {
+					// The line is invalid b/c we couldn't create a course, skip it!
+				}
+				position = nextLineStart(lines, lineEnd, end);
+				if (course != null) {
+					action.accept(course);
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Splits off the first half of the remaining lines, cut at a line boundary.
+		 *
+		 * @return spliterator over the first half, or null if there is no line boundary
+		 */
+		@Override
+		public Spliterator<Course> trySplit() {
+			int middle = lineEnd(lines, position + (end - position) / 2, end);
+			int cut = nextLineStart(lines, middle, end);
+			if (cut >= end) {
+				return null;
+			}
+			BatchSpliterator prefix = new BatchSpliterator(lines, position, cut);
+			position = cut;
+			return prefix;
+		}
+
+		/**
+		 * Returns the number of characters left, which is more than the number of Courses.
+		 *
+		 * @return the number of characters left
+		 */
+		@Override
+		public long estimateSize() {
+			return end - position;
+		}
+
+		/**
+		 * Returns the characteristics of the spliterator: the Courses are in file order and
+		 * never null.
+		 *
+		 * @return the characteristics of the spliterator
+		 */
+		@Override
+		public int characteristics() {
+			return ORDERED | NONNULL;
+		}
+	}
+
+}
@@ -0,0 +1,309 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Splits a single course record held in a char buffer, or in a byte buffer of UTF-8
+ * encoded text, into its comma separated tokens without creating a Scanner for every
+ * line. Integers are parsed in place. The tokens and integers that are accepted match
+ * a Scanner using a "," delimiter, so the same lines are accepted and rejected as when
+ * each line was scanned. A tokenizer can be reused for any number of lines, but not
+ * by multiple threads.
+ *
+ * @author Michael Richardson
+ */
+final class CourseRecordTokenizer {
+
+	/** Buffer holding the current line, null if the line is in bytes */
+	private char[] buffer;
+	/** Buffer holding the current line as UTF-8 bytes, null if the line is in buffer */
+	private ByteBuffer bytes;
+	/** Reused space for copying the bytes of a token before decoding it */
+	private byte[] tokenBytes = new byte[0];
+	/** Position of the next unread character of the current line */
+	private int position;
+	/** Position just past the last character of the current line */
+	private int limit;
+
+	/**
+	 * Starts tokenizing the line held in buffer from start (inclusive)
+	 * to end (exclusive).
+	 *
+	 * @param buffer buffer holding the line
+	 * @param start  index of the first character of the line
+	 * @param end    index just past the last character of the line
+	 */
+	void reset(char[] buffer, int start, int end) {
+		this.buffer = buffer;
+		this.bytes = null;
+		this.position = start;
+		this.limit = end;
+	}
+
+	/**
+	 * Starts tokenizing the UTF-8 encoded line held in bytes from start (inclusive)
+	 * to end (exclusive). The position and limit of bytes are not changed.
+	 *
+	 * @param bytes buffer holding the line
+	 * @param start index of the first byte of the line
+	 * @param end   index just past the last byte of the line
+	 */
+	void reset(ByteBuffer bytes, int start, int end) {
+		this.buffer = null;
+		this.bytes = bytes;
+		this.position = start;
+		this.limit = end;
+	}
+
+	/**
+	 * Returns true if there is another token in the line. Like a Scanner, a single
+	 * delimiter before the end of the line does not start a new token.
+	 *
+	 * @return true if there is another token
+	 */
+	boolean hasNext() {
+		return skipDelimiter(position) < limit;
+	}
+
+	/**
+	 * Returns the next token in the line, which may be empty when two delimiters
+	 * are next to each other.
+	 *
+	 * @return the next token
+	 * @throws NoSuchElementException if there are no more tokens
+	 */
+	String next() {
+		int start = startToken();
+		position = tokenEnd(start);
+		return token(start, position);
+	}
+
+	/**
+	 * Returns the next token in the line as an int. The token must be an optional
+	 * sign followed by one or more digits and must fit in an int.
+	 *
+	 * @return the next token as an int
+	 * @throws NoSuchElementException if there are no more tokens
+	 * @throws InputMismatchException if the token is not an int
+	 */
+	int nextInt() {
+		int start = startToken();
+		int end = tokenEnd(start);
+		int value;
+		if (bytes != null && !isAscii(start, end)) {
+			// Digits outside of ASCII take more than one byte, so parse the decoded token
+			char[] decoded = token(start, end).toCharArray();
+			CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+			tokenizer.reset(decoded, 0, decoded.length);
+			value = tokenizer.parseInt(0, decoded.length);
+		} else {
+			value = parseInt(start, end);
+		}
+		position = end;
+		return value;
+	}
+
+	/**
+	 * Parses the token from start (inclusive) to end (exclusive) as an int.
+	 *
+	 * @param start index of the first character of the token
+	 * @param end   index just past the last character of the token
+	 * @return the token as an int
+	 * @throws InputMismatchException if the token is not an int
+	 */
+	private int parseInt(int start, int end) {
+		int i = start;
+		boolean negative = false;
+		if (i < end && (charAt(i) == '-' || charAt(i) == '+')) {
+			negative = charAt(i) == '-';
+			i++;
+		}
+		if (i == end) {
+			throw new InputMismatchException();
+		}
+		// Accumulate as a negative value so Integer.MIN_VALUE can be parsed
+		long value = 0;
+		for (; i < end; i++) {
+			int digit = Character.digit(charAt(i), 10);
+			if (digit < 0) {
+				throw new InputMismatchException();
+			}
+			value = value * 10 - digit;
+			if (value < Integer.MIN_VALUE) {
+				throw new InputMismatchException();
+			}
+		}
+		if (!negative && value == Integer.MIN_VALUE) {
+			throw new InputMismatchException();
+		}
+		return (int) (negative ? value : -value);
+	}
+
+	/**
+	 * Converts the line held in buffer from start (inclusive) to end (exclusive)
+	 * to a new Course object.
+	 *
+	 * @param buffer buffer holding the line
+	 * @param start  index of the first character of the line
+	 * @param end    index just past the last character of the line
+	 * @return course representing the course created from the line
+	 * @throws IllegalArgumentException if the course cannot be created from the given data
+	 */
+	Course readCourse(char[] buffer, int start, int end) {
+		reset(buffer, start, end);
+		return readCourse();
+	}
+
+	/**
+	 * Converts the UTF-8 encoded line held in bytes from start (inclusive) to end
+	 * (exclusive) to a new Course object.
+	 *
+	 * @param bytes buffer holding the line
+	 * @param start index of the first byte of the line
+	 * @param end   index just past the last byte of the line
+	 * @return course representing the course created from the line
+	 * @throws IllegalArgumentException if the course cannot be created from the given data
+	 */
+	Course readCourse(ByteBuffer bytes, int start, int end) {
+		reset(bytes, start, end);
+		return readCourse();
+	}
+
+	/**
+	 * Converts the current line to a new Course object.
+	 *
+	 * @return course representing the course created from the line
+	 * @throws IllegalArgumentException if the course cannot be created from the given data
+	 */
+	private Course readCourse() {
+		try {
+			// Gather the base fields of Course
+			String name = next();
+			String title = next();
+			String section = next();
+			int creditHours = nextInt();
+			String instructor = next();
+			String meetingDays = next();
+
+			// Check to see if the course is asynchronous
+			if ("A".equals(meetingDays)) {
+				if (hasNext()) { // If the course is asynchronous and has a meeting time, throw an IAE
+					throw new IllegalArgumentException();
+				}
+				return new Course(name, title, section, creditHours, instructor, meetingDays);
+			}
+
+			// The course is not asynchronous, so gather the start and end time fields
+			int startTime = nextInt();
+			int endTime = nextInt();
+
+			// If there are additional fields in the line, throw an IAE
+			if (hasNext()) {
+				throw new IllegalArgumentException();
+			}
+			return new Course(name, title, section, creditHours, instructor, meetingDays, startTime, endTime);
+		} catch (NoSuchElementException e) { // Catches InputMismatchException as well
+			throw new IllegalArgumentException();
+		}
+	}
+
+	/**
+	 * Skips the delimiter before the next token and returns the start of the token.
+	 *
+	 * @return index of the first character of the next token
+	 * @throws NoSuchElementException if there are no more tokens
+	 */
+	private int startToken() {
+		int start = skipDelimiter(position);
+		if (start >= limit) {
+			throw new NoSuchElementException();
+		}
+		return start;
+	}
+
+	/**
+	 * Returns the index after a single delimiter at the given index, or the index
+	 * itself if there is no delimiter there.
+	 *
+	 * @param index index to skip a delimiter from
+	 * @return index after the delimiter
+	 */
+	private int skipDelimiter(int index) {
+		if (index < limit && charAt(index) == ',') {
+			return index + 1;
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the index of the delimiter ending the token that starts at the given
+	 * index, or the end of the line if it is the last token.
+	 *
+	 * @param start index of the first character of the token
+	 * @return index just past the last character of the token
+	 */
+	private int tokenEnd(int start) {
+		int end = start;
+		while (end < limit && charAt(end) != ',') {
+			end++;
+		}
+		return end;
+	}
+
+	/**
+	 * Returns the character at the given index of the current line. For a line in
+	 * bytes this is the byte itself, which is only a whole character for ASCII. A
+	 * comma byte is always a comma since UTF-8 never uses ASCII values in the bytes
+	 * of other characters.
+	 *
+	 * @param index index of the character
+	 * @return the character at the index
+	 */
+	private char charAt(int index) {
+		if (buffer != null) {
+			return buffer[index];
+		}
+		return (char) (bytes.get(index) & 0xFF);
+	}
+
+	/**
+	 * Returns true if every byte from start (inclusive) to end (exclusive) is ASCII.
+	 *
+	 * @param start index of the first byte
+	 * @param end   index just past the last byte
+	 * @return true if all of the bytes are ASCII
+	 */
+	private boolean isAscii(int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (bytes.get(i) < 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the token from start (inclusive) to end (exclusive) as a String.
+	 *
+	 * @param start index of the first character of the token
+	 * @param end   index just past the last character of the token
+	 * @return the token
+	 */
+	private String token(int start, int end) {
+		if (buffer != null) {
+			return new String(buffer, start, end - start);
+		}
+		int length = end - start;
+		if (tokenBytes.length < length) {
+			tokenBytes = new byte[Math.max(length, tokenBytes.length * 2)];
+		}
+		bytes.get(start, tokenBytes, 0, length);
+		return new String(tokenBytes, 0, length, StandardCharsets.UTF_8);
+	}
+
+}
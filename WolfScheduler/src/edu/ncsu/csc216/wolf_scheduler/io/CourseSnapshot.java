@@ -0,0 +1,169 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Reads and writes the binary snapshot format of a course catalog. A snapshot starts
+ * with a magic number, followed by a table of every distinct String used by the courses
+ * (names, titles, sections, instructors, and meeting days) and then one fixed size record
+ * per course that refers to the table by index, with the credits and the packed start
+ * and end times. Loading a snapshot skips parsing the text catalog and shares each
+ * String between all of the courses that use it.
+ *
+ * @author Michael Richardson
+ */
+final class CourseSnapshot {
+
+	/** Magic number at the start of every snapshot, "WSC1" in ASCII */
+	private static final int MAGIC = 0x57534331;
+	/** Number of bits to shift the start time by when packing it with the end time */
+	private static final int TIME_SHIFT = 16;
+	/** Mask of the end time in a packed time */
+	private static final int TIME_MASK = 0xFFFF;
+	/** Number of String fields of each course stored in the table */
+	private static final int STRING_FIELDS = 5;
+	/** Smallest number of bytes of a String in the table, which is its length */
+	private static final int MIN_STRING_BYTES = 4;
+	/** Number of bytes of each course: its String indexes, credits, and packed times */
+	private static final int COURSE_BYTES = STRING_FIELDS * 4 + 1 + 4;
+
+	/**
+	 * Not used, since all methods are static.
+	 */
+	private CourseSnapshot() {
+		// Not used
+	}
+
+	/**
+	 * Writes the courses to a snapshot file.
+	 *
+	 * @param fileName file to write the snapshot to
+	 * @param courses  courses to write
+	 * @throws IOException if the file cannot be written
+	 */
+	static void write(String fileName, List<Course> courses) throws IOException {
+		// Build the table of distinct Strings and the index of each field of each course
+		HashMap<String, Integer> stringIndexes = new HashMap<String, Integer>();
+		ArrayList<String> strings = new ArrayList<String>();
+		int[] fields = new int[courses.size() * STRING_FIELDS];
+		for (int i = 0; i < courses.size(); i++) {
+			Course c = courses.get(i);
+			fields[i * STRING_FIELDS] = intern(c.getName(), stringIndexes, strings);
+			fields[i * STRING_FIELDS + 1] = intern(c.getTitle(), stringIndexes, strings);
+			fields[i * STRING_FIELDS + 2] = intern(c.getSection(), stringIndexes, strings);
+			fields[i * STRING_FIELDS + 3] = intern(c.getInstructorId(), stringIndexes, strings);
+			fields[i * STRING_FIELDS + 4] = intern(c.getMeetingDays(), stringIndexes, strings);
+		}
+
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(strings.size());
+			for (String s : strings) {
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				out.writeInt(bytes.length);
+				out.write(bytes);
+			}
+			out.writeInt(courses.size());
+			for (int i = 0; i < courses.size(); i++) {
+				Course c = courses.get(i);
+				for (int f = 0; f < STRING_FIELDS; f++) {
+					out.writeInt(fields[i * STRING_FIELDS + f]);
+				}
+				out.writeByte(c.getCredits());
+				out.writeInt(c.getStartTime() << TIME_SHIFT | c.getEndTime());
+			}
+		}
+	}
+
+	/**
+	 * Reads the courses from a snapshot file.
+	 *
+	 * @param fileName file to read the snapshot from
+	 * @return the courses in the snapshot, in the order they were written
+	 * @throws IOException if the file cannot be read or is not a valid snapshot
+	 */
+	static ArrayList<Course> read(String fileName) throws IOException {
+		ByteBuffer in = ByteBuffer.wrap(Files.readAllBytes(Paths.get(fileName)));
+		try {
+			if (in.getInt() != MAGIC) {
+				throw new IOException("Invalid course snapshot.");
+			}
+			// Check the counts against the bytes left before allocating anything for them
+			String[] strings = new String[checkCount(in.getInt(), MIN_STRING_BYTES, in)];
+			for (int i = 0; i < strings.length; i++) {
+				int length = in.getInt();
+				strings[i] = new String(in.array(), in.position(), length, StandardCharsets.UTF_8);
+				in.position(in.position() + length);
+			}
+			int size = checkCount(in.getInt(), COURSE_BYTES, in);
+			ArrayList<Course> courses = new ArrayList<Course>(size);
+			for (int i = 0; i < size; i++) {
+				String name = strings[in.getInt()];
+				String title = strings[in.getInt()];
+				String section = strings[in.getInt()];
+				String instructorId = strings[in.getInt()];
+				String meetingDays = strings[in.getInt()];
+				int credits = in.get();
+				int times = in.getInt();
+				courses.add(new Course(name, title, section, credits, instructorId, meetingDays,
+						times >>> TIME_SHIFT, times & TIME_MASK));
+			}
+			if (in.hasRemaining()) {
+				throw new IOException("Invalid course snapshot.");
+			}
+			return courses;
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException
+				| IllegalArgumentException e) {
+			throw new IOException("Invalid course snapshot.");
+		}
+	}
+
+	/**
+	 * Returns the count read from a snapshot if the bytes left could hold that many
+	 * entries of the given size.
+	 *
+	 * @param count      count read from the snapshot
+	 * @param entryBytes smallest number of bytes of each entry
+	 * @param in         snapshot being read, positioned just after the count
+	 * @return the count
+	 * @throws IOException if the count is negative or too large for the bytes left
+	 */
+	private static int checkCount(int count, int entryBytes, ByteBuffer in) throws IOException {
+		if (count < 0 || count > in.remaining() / entryBytes) {
+			throw new IOException("Invalid course snapshot.");
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the index of the String in the table, adding it if it is not there yet.
+	 *
+	 * @param s             String to find
+	 * @param stringIndexes index of each String in the table
+	 * @param strings       table of Strings
+	 * @return index of the String in the table
+	 */
+	private static int intern(String s, HashMap<String, Integer> stringIndexes, ArrayList<String> strings) {
+		Integer index = stringIndexes.get(s);
+		if (index == null) {
+			index = strings.size();
+			stringIndexes.put(s, index);
+			strings.add(s);
+		}
+		return index;
+	}
+
+}
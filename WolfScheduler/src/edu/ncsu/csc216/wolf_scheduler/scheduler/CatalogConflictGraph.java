@@ -0,0 +1,346 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Conflict relation between every pair of sections in a course catalog, computed once
+ * so that later questions about it do not have to compare sections again. Sections are
+ * identified by their index in the catalog.
+ *
+ * Sections are numbered internally in order of start time, and each section keeps a
+ * bitset of the sections it conflicts with. Since a conflict needs overlapping times,
+ * those sections are all close together in start time order, so the bitset only stores
+ * the words from the first to the last one with a bit set. Checking whether two sections
+ * conflict is a single bit test, and listing the conflicts of a section visits only its
+ * own bitset.
+ *
+ * The graph is built in parallel. Instead of comparing every pair of sections, each
+ * section is placed in a bucket for every day and half hour slot it meets in, and it is
+ * only compared with the sections in the bucket of its first slot and the sections that
+ * start in its later slots, which are all the sections it can overlap on that day. The
+ * buckets are kept so that the sections conflicting with any other activity, such as an
+ * event, can be found the same way.
+ *
+ * @author Michael Richardson
+ */
+public class CatalogConflictGraph {
+
+	/** Number of bits in a bitset word */
+	private static final int WORD_SIZE = 64;
+	/** Length of a time slot bucket in minutes */
+	private static final int SLOT_MINUTES = 30;
+	/** Number of time slot buckets in a day */
+	private static final int SLOTS_PER_DAY = Activity.MINUTES_PER_DAY / SLOT_MINUTES;
+	/** Days of the week in the order their buckets are numbered */
+	private static final String WEEK_DAYS = "MTWHFSU";
+	/** Number of tasks per thread to split the sections into when building the graph */
+	private static final int TASKS_PER_THREAD = 4;
+	/** Smallest number of sections handled by one task when building the graph */
+	private static final int MIN_SECTIONS_PER_TASK = 256;
+
+	/** Bitset of a section that conflicts with nothing */
+	private static final long[] NO_CONFLICTS = new long[0];
+
+	/** Catalog index of the section at each position in start time order */
+	private final int[] catalogIndexes;
+	/** Position in start time order of the section at each catalog index */
+	private final int[] positions;
+	/** Bit for each day the section at each position meets on, from Monday in the lowest bit */
+	private final int[] days;
+	/** Start time in minutes since midnight of the section at each position */
+	private final int[] startMinutes;
+	/** End time in minutes since midnight of the section at each position */
+	private final int[] endMinutes;
+	/** Index of the first word stored in the bitset of each position */
+	private final int[] firstWords;
+	/** Stored words of the conflict bitset of each position */
+	private final long[][] conflicts;
+	/** Number of sections each position conflicts with */
+	private final int[] degrees;
+	/** Positions of the sections meeting in each bucket */
+	private final int[][] covering;
+	/** Positions of the sections starting in each bucket */
+	private final int[][] starting;
+
+	/**
+	 * Builds the conflict graph of the catalog using the common ForkJoinPool.
+	 *
+	 * @param catalog sections of the catalog
+	 */
+	public CatalogConflictGraph(List<Course> catalog) {
+		int size = catalog.size();
+		Integer[] order = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(catalog.get(a).getStartMinutes(), catalog.get(b).getStartMinutes()));
+		catalogIndexes = new int[size];
+		positions = new int[size];
+		days = new int[size];
+		startMinutes = new int[size];
+		endMinutes = new int[size];
+		for (int p = 0; p < size; p++) {
+			Course c = catalog.get(order[p]);
+			catalogIndexes[p] = order[p];
+			positions[order[p]] = p;
+			days[p] = c.getMeetingDaysMask();
+			startMinutes[p] = c.getStartMinutes();
+			endMinutes[p] = c.getEndMinutes();
+		}
+		firstWords = new int[size];
+		conflicts = new long[size][];
+		degrees = new int[size];
+
+		covering = buildBuckets(false);
+		starting = buildBuckets(true);
+		if (size > 0) {
+			// Each task needs a bitset as large as the catalog, so keep the number of tasks small
+			ForkJoinPool pool = ForkJoinPool.commonPool();
+			int tasks = pool.getParallelism() * TASKS_PER_THREAD;
+			int sectionsPerTask = Math.max(MIN_SECTIONS_PER_TASK, (size + tasks - 1) / tasks);
+			pool.invoke(new BuildTask(sectionsPerTask, 0, size));
+		}
+	}
+
+	/**
+	 * Returns the number of sections in the graph.
+	 *
+	 * @return the number of sections
+	 */
+	public int size() {
+		return positions.length;
+	}
+
+	/**
+	 * Returns true if the sections at the two catalog indexes conflict. A section never
+	 * conflicts with itself.
+	 *
+	 * @param first  catalog index of the first section
+	 * @param second catalog index of the second section
+	 * @return true if the sections conflict
+	 * @throws IndexOutOfBoundsException if either index is not in the catalog
+	 */
+	public boolean conflicts(int first, int second) {
+		int p = positions[first];
+		int word = positions[second] / WORD_SIZE - firstWords[p];
+		return word >= 0 && word < conflicts[p].length
+				&& (conflicts[p][word] & 1L << positions[second] % WORD_SIZE) != 0;
+	}
+
+	/**
+	 * Returns the number of sections the section at the catalog index conflicts with.
+	 *
+	 * @param index catalog index of the section
+	 * @return the number of conflicting sections
+	 * @throws IndexOutOfBoundsException if the index is not in the catalog
+	 */
+	public int getDegree(int index) {
+		return degrees[positions[index]];
+	}
+
+	/**
+	 * Returns the catalog indexes of every section the section at the catalog index
+	 * conflicts with, in order of start time.
+	 *
+	 * @param index catalog index of the section
+	 * @return catalog indexes of the conflicting sections
+	 * @throws IndexOutOfBoundsException if the index is not in the catalog
+	 */
+	public int[] getConflicts(int index) {
+		int p = positions[index];
+		int[] result = new int[degrees[p]];
+		int count = 0;
+		long[] words = conflicts[p];
+		for (int w = 0; w < words.length; w++) {
+			for (long word = words[w]; word != 0; word &= word - 1) {
+				int position = (firstWords[p] + w) * WORD_SIZE + Long.numberOfTrailingZeros(word);
+				result[count++] = catalogIndexes[position];
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the catalog indexes of every section the activity conflicts with, in order
+	 * of start time. The activity does not need to be in the catalog; if it is a section
+	 * of the catalog, it overlaps itself and so is returned too.
+	 *
+	 * @param activity activity to find the conflicts of
+	 * @return catalog indexes of the conflicting sections
+	 */
+	public int[] getConflicts(Activity activity) {
+		int activityDays = activity.getMeetingDaysMask();
+		int start = activity.getStartMinutes();
+		int end = activity.getEndMinutes();
+		int[] found = new int[WORD_SIZE];
+		int count = 0;
+		for (int d = activityDays; d != 0; d &= d - 1) {
+			int day = Integer.numberOfTrailingZeros(d);
+			for (int slot = start / SLOT_MINUTES; slot <= end / SLOT_MINUTES; slot++) {
+				int bucket = day * SLOTS_PER_DAY + slot;
+				for (int other : slot == start / SLOT_MINUTES ? covering[bucket] : starting[bucket]) {
+					if (startMinutes[other] <= end && start <= endMinutes[other]) {
+						if (count == found.length) {
+							found = Arrays.copyOf(found, count * 2);
+						}
+						found[count++] = other;
+					}
+				}
+			}
+		}
+		// Sections meeting on more than one of the days are found once for each day
+		Arrays.sort(found, 0, count);
+		int[] result = new int[count];
+		int unique = 0;
+		for (int i = 0; i < count; i++) {
+			if (i == 0 || found[i] != found[i - 1]) {
+				result[unique++] = catalogIndexes[found[i]];
+			}
+		}
+		return Arrays.copyOf(result, unique);
+	}
+
+	/**
+	 * Places the position of each section in the bucket of every day and time slot it
+	 * meets in, or only of the slot it starts in. Arranged sections are not placed in
+	 * any bucket.
+	 *
+	 * @param startOnly true to place each section only in the slot it starts in
+	 * @return positions of the sections in each bucket, in start time order
+	 */
+	private int[][] buildBuckets(boolean startOnly) {
+		int buckets = WEEK_DAYS.length() * SLOTS_PER_DAY;
+		int[] counts = new int[buckets];
+		for (int p = 0; p < days.length; p++) {
+			forEachBucket(p, startOnly, b -> counts[b]++);
+		}
+		int[][] result = new int[buckets][];
+		for (int b = 0; b < buckets; b++) {
+			result[b] = new int[counts[b]];
+		}
+		Arrays.fill(counts, 0);
+		for (int p = 0; p < days.length; p++) {
+			int position = p;
+			forEachBucket(p, startOnly, b -> result[b][counts[b]++] = position);
+		}
+		return result;
+	}
+
+	/**
+	 * Calls the action with every bucket the section at the position meets in, or only
+	 * the buckets of the slot it starts in. A section ending exactly at the start of a
+	 * slot is in that slot too, since the end time is inclusive.
+	 *
+	 * @param p         position of the section
+	 * @param startOnly true to call the action only with the slot the section starts in
+	 * @param action    action to call with each bucket
+	 */
+	private void forEachBucket(int p, boolean startOnly, IntConsumer action) {
+		int firstSlot = startMinutes[p] / SLOT_MINUTES;
+		int lastSlot = startOnly ? firstSlot : endMinutes[p] / SLOT_MINUTES;
+		for (int d = days[p]; d != 0; d &= d - 1) {
+			int day = Integer.numberOfTrailingZeros(d);
+			for (int slot = firstSlot; slot <= lastSlot; slot++) {
+				action.accept(day * SLOTS_PER_DAY + slot);
+			}
+		}
+	}
+
+	/**
+	 * Task that builds the conflict bitsets of a range of positions, splitting the range
+	 * in half until it is small enough.
+	 */
+	private class BuildTask extends RecursiveAction {
+
+		/** ID used for serialization. */
+		private static final long serialVersionUID = 1L;
+		/** Largest number of positions to build without splitting */
+		private final int sectionsPerTask;
+		/** First position to build */
+		private final int low;
+		/** Position just past the last position to build */
+		private final int high;
+
+		/**
+		 * Constructs a task that builds the positions from low (inclusive) to high (exclusive).
+		 *
+		 * @param sectionsPerTask largest number of positions to build without splitting
+		 * @param low             first position to build
+		 * @param high            position just past the last position to build
+		 */
+		BuildTask(int sectionsPerTask, int low, int high) {
+			this.sectionsPerTask = sectionsPerTask;
+			this.low = low;
+			this.high = high;
+		}
+
+		/**
+		 * Builds the range if it is small enough, otherwise splits it in half.
+		 */
+		@Override
+		protected void compute() {
+			if (high - low > sectionsPerTask) {
+				int middle = (low + high) >>> 1;
+				invokeAll(new BuildTask(sectionsPerTask, low, middle), new BuildTask(sectionsPerTask, middle, high));
+				return;
+			}
+			// The full size bitset is reused for every section, clearing only the words used
+			long[] scratch = new long[(days.length + WORD_SIZE - 1) / WORD_SIZE];
+			for (int p = low; p < high; p++) {
+				build(p, scratch);
+			}
+		}
+
+		/**
+		 * Builds the conflict bitset of the section at the position. On each day it meets,
+		 * any section it overlaps either meets in its first slot or starts in one of its
+		 * later slots, so each of those is compared once per day and only the times need
+		 * to be checked. Sections sharing more than one day just set the same bit again.
+		 *
+		 * @param p       position of the section
+		 * @param scratch full size bitset of zeros to use while building
+		 */
+		private void build(int p, long[] scratch) {
+			int start = startMinutes[p];
+			int end = endMinutes[p];
+			int firstSlot = start / SLOT_MINUTES;
+			int lastSlot = end / SLOT_MINUTES;
+			int firstWord = scratch.length;
+			int lastWord = -1;
+			for (int d = days[p]; d != 0; d &= d - 1) {
+				int day = Integer.numberOfTrailingZeros(d);
+				for (int slot = firstSlot; slot <= lastSlot; slot++) {
+					int bucket = day * SLOTS_PER_DAY + slot;
+					for (int other : slot == firstSlot ? covering[bucket] : starting[bucket]) {
+						if (startMinutes[other] <= end && start <= endMinutes[other] && other != p) {
+							int word = other / WORD_SIZE;
+							scratch[word] |= 1L << other % WORD_SIZE;
+							firstWord = Math.min(firstWord, word);
+							lastWord = Math.max(lastWord, word);
+						}
+					}
+				}
+			}
+			if (lastWord < firstWord) {
+				conflicts[p] = NO_CONFLICTS;
+				return;
+			}
+			firstWords[p] = firstWord;
+			conflicts[p] = Arrays.copyOfRange(scratch, firstWord, lastWord + 1);
+			int degree = 0;
+			for (long word : conflicts[p]) {
+				degree += Long.bitCount(word);
+			}
+			degrees[p] = degree;
+			Arrays.fill(scratch, firstWord, lastWord + 1, 0);
+		}
+	}
+
+}
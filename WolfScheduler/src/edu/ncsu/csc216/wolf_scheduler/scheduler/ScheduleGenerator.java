@@ -0,0 +1,728 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.ActivityIntervalIndex;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Generates every conflict-free combination of sections for a list of courses, taking
+ * one section of each course. Sections that conflict with any of the fixed activities
+ * (such as a student's events) are never used. The search backtracks over one course at
+ * a time, starting with the course with the fewest usable sections. For each course, the
+ * sections that are still possible are kept as a bitset, and choosing a section ANDs every
+ * later bitset with the precomputed bitset of sections that do not conflict with it. A
+ * branch is dropped as soon as any later course has no possible section left. The search
+ * can also be split across a ForkJoinPool, stopping early once enough schedules are found,
+ * or limited to the best schedules by a ScheduleScorer, cutting every branch that cannot
+ * beat the schedules already kept.
+ *
+ * @author Michael Richardson
+ */
+public class ScheduleGenerator {
+
+	/** Number of bits in a bitset word */
+	private static final int WORD_SIZE = 64;
+	/** Number of search tasks to aim for per thread, so idle threads have work to steal */
+	private static final int TASKS_PER_THREAD = 16;
+	/** Number of search steps between checks for cancellation */
+	private static final int CANCEL_CHECK_INTERVAL = 1024;
+
+	/** Sections of each course, in search order */
+	private final Course[][] sections;
+	/** Position in the requested list of each course, in search order */
+	private final int[] resultIndex;
+	/**
+	 * Bitsets of compatible sections: compatible[i][s][j] holds the sections of course j
+	 * that do not conflict with section s of course i, for j greater than i
+	 */
+	private final long[][][][] compatible;
+	/** Bitset of the sections of each course that do not conflict with the fixed activities */
+	private final long[][] initial;
+
+	/**
+	 * Constructs a generator for the given courses. Each element of sectionsPerCourse holds
+	 * every section of one course, and each schedule generated holds one section of each
+	 * course in the same order.
+	 *
+	 * @param sectionsPerCourse sections of each course
+	 * @param fixed             activities that every schedule must fit around
+	 */
+	public ScheduleGenerator(List<? extends List<Course>> sectionsPerCourse, List<? extends Activity> fixed) {
+		int courses = sectionsPerCourse.size();
+		initial = new long[courses][];
+		sections = new Course[courses][];
+
+		// Drop the sections that conflict with the fixed activities
+		ActivityIntervalIndex<Activity> fixedIndex = new ActivityIntervalIndex<Activity>(fixed);
+		Course[][] usable = new Course[courses][];
+		for (int i = 0; i < courses; i++) {
+			ArrayList<Course> fits = new ArrayList<Course>();
+			for (Course c : sectionsPerCourse.get(i)) {
+				if (!fixedIndex.hasOverlap(c)) {
+					fits.add(c);
+				}
+			}
+			usable[i] = fits.toArray(new Course[fits.size()]);
+		}
+
+		// Search the courses with the fewest sections first so that branches are cut early
+		Integer[] order = new Integer[courses];
+		for (int i = 0; i < courses; i++) {
+			order[i] = i;
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(usable[a].length, usable[b].length));
+		resultIndex = new int[courses];
+		for (int i = 0; i < courses; i++) {
+			resultIndex[i] = order[i];
+			sections[i] = usable[order[i]];
+			initial[i] = new long[words(sections[i].length)];
+			for (int s = 0; s < sections[i].length; s++) {
+				set(initial[i], s);
+			}
+		}
+
+		// Only the sections that overlap are looked up, then cleared from a full bitset
+		List<ActivityIntervalIndex<Course>> indexes = new ArrayList<ActivityIntervalIndex<Course>>();
+		List<IdentityHashMap<Course, int[]>> positions = new ArrayList<IdentityHashMap<Course, int[]>>();
+		for (int j = 0; j < courses; j++) {
+			indexes.add(new ActivityIntervalIndex<Course>(Arrays.asList(sections[j])));
+			positions.add(positionsOf(sections[j]));
+		}
+		compatible = new long[courses][][][];
+		for (int i = 0; i < courses; i++) {
+			compatible[i] = new long[sections[i].length][courses][];
+			for (int s = 0; s < sections[i].length; s++) {
+				Course section = sections[i][s];
+				for (int j = i + 1; j < courses; j++) {
+					long[] fits = initial[j].clone();
+					for (Course conflict : indexes.get(j).getOverlapping(section)) {
+						for (int t : positions.get(j).get(conflict)) {
+							fits[t / WORD_SIZE] &= ~(1L << t);
+						}
+					}
+					compatible[i][s][j] = fits;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns an iterator over every conflict-free schedule. Schedules are found one at a
+	 * time as the iterator is advanced. There are no schedules if no courses were given.
+	 *
+	 * @return iterator over the schedules
+	 */
+	public Iterator<ArrayList<Course>> iterator() {
+		return new ScheduleIterator(0, new int[sections.length], initial, null);
+	}
+
+	/**
+	 * Returns a stream of every conflict-free schedule. Schedules are found one at a time
+	 * as the stream is consumed, so a short-circuiting operation such as limit() stops
+	 * the search.
+	 *
+	 * @return stream of the schedules
+	 */
+	public Stream<ArrayList<Course>> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(),
+				Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL), false);
+	}
+
+	/**
+	 * Generates conflict-free schedules in parallel on the given pool. The first courses of
+	 * the search are split into separate tasks, one for each possible section, until there
+	 * are enough tasks to keep every thread of the pool busy, and each task searches the
+	 * remaining courses on its own. The search stops once maxSchedules schedules are found
+	 * or cancelled returns true, which is checked regularly. If the search runs to the end,
+	 * the schedules are in the same order as stream(); otherwise some of them are returned.
+	 *
+	 * @param pool         pool to run the search on
+	 * @param maxSchedules largest number of schedules to find
+	 * @param cancelled    returns true once the search should stop, or null if it is never cancelled
+	 * @return the schedules found
+	 * @throws IllegalArgumentException if maxSchedules is negative
+	 */
+	public ArrayList<ArrayList<Course>> generateInParallel(ForkJoinPool pool, int maxSchedules,
+			BooleanSupplier cancelled) {
+		if (maxSchedules < 0) {
+			throw new IllegalArgumentException("Invalid number of schedules.");
+		}
+		if (sections.length == 0 || maxSchedules == 0) {
+			return new ArrayList<ArrayList<Course>>();
+		}
+		// Split courses into tasks until there are enough, always leaving the last course to a task
+		int splitDepth = 0;
+		long tasks = 1;
+		long target = (long) pool.getParallelism() * TASKS_PER_THREAD;
+		while (splitDepth < sections.length - 1 && tasks < target) {
+			tasks *= Math.max(1, count(initial[splitDepth]));
+			splitDepth++;
+		}
+		Search search = new Search(maxSchedules, cancelled, splitDepth);
+		return pool.invoke(new SearchTask(search, 0, new int[sections.length], initial));
+	}
+
+	/**
+	 * Returns the best schedules by the given scorer, lowest score first. Schedules with the
+	 * same score are in the same order as stream(). The best schedules found so far are kept
+	 * in a heap of at most maxSchedules entries, and once it is full, any branch whose lower
+	 * bound is no better than the worst schedule kept is not searched.
+	 *
+	 * @param maxSchedules largest number of schedules to return
+	 * @param scorer       scorer used to rank the schedules
+	 * @return the best schedules, lowest score first
+	 * @throws IllegalArgumentException if maxSchedules is negative or scorer is null
+	 */
+	public ArrayList<ArrayList<Course>> findBest(int maxSchedules, ScheduleScorer scorer) {
+		if (maxSchedules < 0) {
+			throw new IllegalArgumentException("Invalid number of schedules.");
+		}
+		if (scorer == null) {
+			throw new IllegalArgumentException("Invalid scorer.");
+		}
+		ArrayList<ArrayList<Course>> best = new ArrayList<ArrayList<Course>>();
+		if (sections.length == 0 || maxSchedules == 0) {
+			return best;
+		}
+		// The first depth only reads its bitsets, so it can share the initial ones
+		long[][][] possible = new long[sections.length][][];
+		possible[0] = initial;
+		for (int d = 1; d < sections.length; d++) {
+			possible[d] = newSectionSets();
+		}
+		TopSchedules top = new TopSchedules(maxSchedules);
+		findBest(0, possible, new int[sections.length], new ArrayList<Course>(sections.length), scorer, top);
+
+		ArrayList<RankedSchedule> ranked = new ArrayList<RankedSchedule>(top.heap);
+		ranked.sort(null);
+		for (RankedSchedule r : ranked) {
+			best.add(r.schedule);
+		}
+		return best;
+	}
+
+	/**
+	 * Searches the schedules with the sections of the courses before depth already chosen,
+	 * offering each one to top.
+	 *
+	 * @param depth    course to choose a section for
+	 * @param possible possible sections of each course at each depth
+	 * @param chosen   chosen section of each course before depth
+	 * @param partial  chosen courses before depth
+	 * @param scorer   scorer used to rank the schedules
+	 * @param top      best schedules found so far
+	 */
+	private void findBest(int depth, long[][][] possible, int[] chosen, ArrayList<Course> partial,
+			ScheduleScorer scorer, TopSchedules top) {
+		boolean last = depth == sections.length - 1;
+		long[] candidates = possible[depth][depth];
+		for (int s = nextSetBit(candidates, 0); s >= 0; s = nextSetBit(candidates, s + 1)) {
+			chosen[depth] = s;
+			partial.add(sections[depth][s]);
+			if (last) {
+				double score = scorer.score(partial);
+				if (top.accepts(score)) {
+					top.add(new RankedSchedule(score, top.added, toSchedule(chosen)));
+				}
+			} else if (!(top.isFull() && scorer.lowerBound(partial) >= top.worst())
+					&& narrow(depth, s, possible[depth], possible[depth + 1])) {
+				findBest(depth + 1, possible, chosen, partial, scorer, top);
+			}
+			partial.remove(partial.size() - 1);
+		}
+	}
+
+	/**
+	 * Returns the number of courses in each schedule.
+	 *
+	 * @return the number of courses
+	 */
+	int getCourseCount() {
+		return sections.length;
+	}
+
+	/**
+	 * Returns the bitset of the sections of each course that fit around the fixed
+	 * activities. The bitsets are shared and must not be changed.
+	 *
+	 * @return bitset of the usable sections of each course, in search order
+	 */
+	long[][] getInitialSections() {
+		return initial;
+	}
+
+	/**
+	 * Narrows the possible sections of every course after the given one to those that do not
+	 * conflict with the chosen section. Returns false if some later course has no possible
+	 * section left, in which case the remaining courses of to may not have been filled in.
+	 *
+	 * @param course  course the section was chosen for, in search order
+	 * @param section chosen section of the course
+	 * @param from    possible sections of each course before the choice
+	 * @param to      possible sections of each course after the choice
+	 * @return true if every later course still has a possible section
+	 */
+	boolean narrow(int course, int section, long[][] from, long[][] to) {
+		long[][] fits = compatible[course][section];
+		for (int j = course + 1; j < sections.length; j++) {
+			long any = 0;
+			for (int w = 0; w < to[j].length; w++) {
+				to[j][w] = from[j][w] & fits[j][w];
+				any |= to[j][w];
+			}
+			if (any == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the schedule for the chosen section of each course, in the order the courses
+	 * were given.
+	 *
+	 * @param chosen chosen section of each course, in search order
+	 * @return the schedule
+	 */
+	ArrayList<Course> toSchedule(int[] chosen) {
+		Course[] schedule = new Course[sections.length];
+		for (int i = 0; i < sections.length; i++) {
+			schedule[resultIndex[i]] = sections[i][chosen[i]];
+		}
+		return new ArrayList<Course>(Arrays.asList(schedule));
+	}
+
+	/**
+	 * Returns a new set of bitsets sized for the sections of each course, in search order.
+	 *
+	 * @return empty bitsets for each course
+	 */
+	long[][] newSectionSets() {
+		long[][] sets = new long[sections.length][];
+		for (int i = 0; i < sections.length; i++) {
+			sets[i] = new long[words(sections[i].length)];
+		}
+		return sets;
+	}
+
+	/**
+	 * Returns the index of the first set bit at or after from, or -1 if there is none.
+	 *
+	 * @param bits bitset to search
+	 * @param from index to start from
+	 * @return index of the next set bit or -1
+	 */
+	static int nextSetBit(long[] bits, int from) {
+		int w = from / WORD_SIZE;
+		if (w >= bits.length) {
+			return -1;
+		}
+		long word = bits[w] & (-1L << (from % WORD_SIZE));
+		while (word == 0) {
+			w++;
+			if (w == bits.length) {
+				return -1;
+			}
+			word = bits[w];
+		}
+		return w * WORD_SIZE + Long.numberOfTrailingZeros(word);
+	}
+
+	/**
+	 * Returns the number of set bits in the bitset.
+	 *
+	 * @param bits bitset to count
+	 * @return number of set bits
+	 */
+	static int count(long[] bits) {
+		int count = 0;
+		for (long word : bits) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+
+	/**
+	 * Sets the bit at the given index.
+	 *
+	 * @param bits  bitset to change
+	 * @param index index of the bit
+	 */
+	private static void set(long[] bits, int index) {
+		bits[index / WORD_SIZE] |= 1L << (index % WORD_SIZE);
+	}
+
+	/**
+	 * Returns the number of words needed for a bitset of the given size.
+	 *
+	 * @param size number of bits
+	 * @return number of words
+	 */
+	private static int words(int size) {
+		return (size + WORD_SIZE - 1) / WORD_SIZE;
+	}
+
+	/**
+	 * Returns the positions of each section in the array. A section only has more than
+	 * one position if the same section was given more than once.
+	 *
+	 * @param courseSections sections of one course
+	 * @return positions of each section
+	 */
+	private static IdentityHashMap<Course, int[]> positionsOf(Course[] courseSections) {
+		IdentityHashMap<Course, int[]> positions = new IdentityHashMap<Course, int[]>();
+		for (int t = 0; t < courseSections.length; t++) {
+			int[] previous = positions.get(courseSections[t]);
+			int[] current = previous == null ? new int[1] : Arrays.copyOf(previous, previous.length + 1);
+			current[current.length - 1] = t;
+			positions.put(courseSections[t], current);
+		}
+		return positions;
+	}
+
+	/**
+	 * Iterator that runs the backtracking search one schedule at a time. The possible
+	 * sections at each depth are kept in preallocated bitsets, so advancing does not
+	 * allocate anything other than the schedules it returns. The search can start part
+	 * way down, with the sections of the first courses already chosen.
+	 */
+	private class ScheduleIterator implements Iterator<ArrayList<Course>> {
+
+		/** Possible sections of each course at each depth of the search */
+		private final long[][][] possible;
+		/** Chosen section of each course up to the current depth */
+		private final int[] chosen;
+		/** First course the iterator chooses sections for */
+		private final int startDepth;
+		/** Returns true once the search should stop, or null if it is never cancelled */
+		private final BooleanSupplier cancelled;
+		/** Course being chosen, or less than startDepth once the search is over */
+		private int depth;
+		/** Number of search steps taken since the last check for cancellation */
+		private int steps;
+		/** Next schedule to return, or null if it has not been found yet */
+		private ArrayList<Course> next;
+
+		/**
+		 * Constructs an iterator that searches the courses from startDepth on, with the
+		 * sections of the earlier courses already chosen.
+		 *
+		 * @param startDepth first course to choose a section for
+		 * @param prefix     chosen section of each course before startDepth
+		 * @param start      possible sections of each course from startDepth on
+		 * @param cancelled  returns true once the search should stop, or null if it is never cancelled
+		 */
+		ScheduleIterator(int startDepth, int[] prefix, long[][] start, BooleanSupplier cancelled) {
+			this.startDepth = startDepth;
+			this.cancelled = cancelled;
+			possible = new long[sections.length][][];
+			for (int d = startDepth; d < sections.length; d++) {
+				possible[d] = newSectionSets();
+			}
+			for (int j = startDepth; j < sections.length; j++) {
+				System.arraycopy(start[j], 0, possible[startDepth][j], 0, start[j].length);
+			}
+			chosen = Arrays.copyOf(prefix, sections.length);
+			Arrays.fill(chosen, startDepth, sections.length, -1);
+			depth = startDepth < sections.length ? startDepth : startDepth - 1;
+		}
+
+		/**
+		 * Returns true if there is another schedule, searching for it if needed.
+		 *
+		 * @return true if there is another schedule
+		 */
+		@Override
+		public boolean hasNext() {
+			if (next == null) {
+				next = advance();
+			}
+			return next != null;
+		}
+
+		/**
+		 * Returns the next schedule.
+		 *
+		 * @return the next schedule
+		 * @throws NoSuchElementException if there are no more schedules
+		 */
+		@Override
+		public ArrayList<Course> next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			ArrayList<Course> schedule = next;
+			next = null;
+			return schedule;
+		}
+
+		/**
+		 * Continues the search until the next schedule is found.
+		 *
+		 * @return the next schedule, or null if there are no more
+		 */
+		private ArrayList<Course> advance() {
+			int last = sections.length - 1;
+			while (depth >= startDepth) {
+				if (cancelled != null && ++steps == CANCEL_CHECK_INTERVAL) {
+					steps = 0;
+					if (cancelled.getAsBoolean()) {
+						depth = startDepth - 1;
+						return null;
+					}
+				}
+				int s = nextSetBit(possible[depth][depth], chosen[depth] + 1);
+				if (s < 0) {
+					// Every section of this course has been tried, so go back a course
+					chosen[depth] = -1;
+					depth--;
+					continue;
+				}
+				chosen[depth] = s;
+				if (depth == last) {
+					return toSchedule(chosen);
+				}
+				if (narrow(depth, s, possible[depth], possible[depth + 1])) {
+					depth++;
+				}
+			}
+			return null;
+		}
+	}
+
+	/**
+	 * A schedule with its score and the order it was found in.
+	 */
+	private static class RankedSchedule implements Comparable<RankedSchedule> {
+
+		/** Score of the schedule */
+		private final double score;
+		/** Number of schedules kept before this one */
+		private final long order;
+		/** Courses of the schedule */
+		private final ArrayList<Course> schedule;
+
+		/**
+		 * Constructs a ranked schedule.
+		 *
+		 * @param score    score of the schedule
+		 * @param order    number of schedules kept before this one
+		 * @param schedule courses of the schedule
+		 */
+		RankedSchedule(double score, long order, ArrayList<Course> schedule) {
+			this.score = score;
+			this.order = order;
+			this.schedule = schedule;
+		}
+
+		/**
+		 * Compares by score, then by the order the schedules were found in.
+		 *
+		 * @param other schedule to compare to
+		 * @return negative if this schedule is better, positive if it is worse
+		 */
+		@Override
+		public int compareTo(RankedSchedule other) {
+			int result = Double.compare(score, other.score);
+			return result != 0 ? result : Long.compare(order, other.order);
+		}
+	}
+
+	/**
+	 * The best schedules found so far, kept in a heap with the worst one on top.
+	 */
+	private static class TopSchedules {
+
+		/** Largest number of schedules to keep */
+		private final int maxSchedules;
+		/** Schedules kept, worst first */
+		private final PriorityQueue<RankedSchedule> heap;
+		/** Number of schedules kept so far, including ones since dropped */
+		private long added;
+
+		/**
+		 * Constructs an empty set of schedules.
+		 *
+		 * @param maxSchedules largest number of schedules to keep
+		 */
+		TopSchedules(int maxSchedules) {
+			this.maxSchedules = maxSchedules;
+			this.heap = new PriorityQueue<RankedSchedule>(Math.min(maxSchedules, 1 << 10) + 1, (a, b) -> b.compareTo(a));
+		}
+
+		/**
+		 * Returns true if as many schedules as can be kept have been found.
+		 *
+		 * @return true if the heap is full
+		 */
+		boolean isFull() {
+			return heap.size() == maxSchedules;
+		}
+
+		/**
+		 * Returns the score of the worst schedule kept.
+		 *
+		 * @return the worst score
+		 */
+		double worst() {
+			return heap.peek().score;
+		}
+
+		/**
+		 * Returns true if a schedule with the given score would be kept. A schedule found
+		 * later must be strictly better than the worst one to replace it.
+		 *
+		 * @param score score of the schedule
+		 * @return true if the schedule would be kept
+		 */
+		boolean accepts(double score) {
+			return !isFull() || score < worst();
+		}
+
+		/**
+		 * Keeps the schedule, dropping the worst one if there are too many.
+		 *
+		 * @param ranked schedule to keep
+		 */
+		void add(RankedSchedule ranked) {
+			heap.add(ranked);
+			added++;
+			if (heap.size() > maxSchedules) {
+				heap.poll();
+			}
+		}
+	}
+
+	/**
+	 * State shared by every task of a parallel search.
+	 */
+	private static class Search {
+
+		/** Largest number of schedules to find */
+		private final int maxSchedules;
+		/** Returns true once the search should stop, or null if it is never cancelled */
+		private final BooleanSupplier cancelled;
+		/** Number of courses split into separate tasks */
+		private final int splitDepth;
+		/** Number of schedules found so far */
+		private final AtomicInteger found = new AtomicInteger();
+
+		/**
+		 * Constructs the state of a search.
+		 *
+		 * @param maxSchedules largest number of schedules to find
+		 * @param cancelled    returns true once the search should stop, or null
+		 * @param splitDepth   number of courses split into separate tasks
+		 */
+		Search(int maxSchedules, BooleanSupplier cancelled, int splitDepth) {
+			this.maxSchedules = maxSchedules;
+			this.cancelled = cancelled;
+			this.splitDepth = splitDepth;
+		}
+
+		/**
+		 * Returns true if enough schedules have been found or the search was cancelled.
+		 *
+		 * @return true if the search should stop
+		 */
+		boolean isStopped() {
+			return found.get() >= maxSchedules || (cancelled != null && cancelled.getAsBoolean());
+		}
+
+		/**
+		 * Claims a place for a newly found schedule.
+		 *
+		 * @return true if the schedule can be kept, or false if enough have been found
+		 */
+		boolean claim() {
+			return found.getAndIncrement() < maxSchedules;
+		}
+	}
+
+	/**
+	 * Task that searches every schedule with the sections of the first courses already
+	 * chosen. Above the split depth it forks one task for each possible section of the next
+	 * course; below it, it runs the backtracking search itself.
+	 */
+	private class SearchTask extends RecursiveTask<ArrayList<ArrayList<Course>>> {
+
+		/** Serial version UID */
+		private static final long serialVersionUID = 1L;
+		/** State shared by every task of the search */
+		private final Search search;
+		/** First course this task chooses a section for */
+		private final int depth;
+		/** Chosen section of each course before depth */
+		private final int[] chosen;
+		/** Possible sections of each course from depth on */
+		private final long[][] possible;
+
+		/**
+		 * Constructs a task for the courses from depth on.
+		 *
+		 * @param search   state shared by every task of the search
+		 * @param depth    first course to choose a section for
+		 * @param chosen   chosen section of each course before depth
+		 * @param possible possible sections of each course from depth on
+		 */
+		SearchTask(Search search, int depth, int[] chosen, long[][] possible) {
+			this.search = search;
+			this.depth = depth;
+			this.chosen = chosen;
+			this.possible = possible;
+		}
+
+		/**
+		 * Searches the schedules of this task.
+		 *
+		 * @return the schedules found, in search order
+		 */
+		@Override
+		protected ArrayList<ArrayList<Course>> compute() {
+			ArrayList<ArrayList<Course>> schedules = new ArrayList<ArrayList<Course>>();
+			if (depth >= search.splitDepth) {
+				ScheduleIterator it = new ScheduleIterator(depth, chosen, possible, search::isStopped);
+				while (!search.isStopped() && it.hasNext()) {
+					ArrayList<Course> schedule = it.next();
+					if (!search.claim()) {
+						break;
+					}
+					schedules.add(schedule);
+				}
+				return schedules;
+			}
+
+			ArrayList<SearchTask> subtasks = new ArrayList<SearchTask>();
+			for (int s = nextSetBit(possible[depth], 0); s >= 0; s = nextSetBit(possible[depth], s + 1)) {
+				long[][] narrowed = newSectionSets();
+				if (narrow(depth, s, possible, narrowed)) {
+					int[] prefix = Arrays.copyOf(chosen, chosen.length);
+					prefix[depth] = s;
+					subtasks.add(new SearchTask(search, depth + 1, prefix, narrowed));
+				}
+			}
+			invokeAll(subtasks);
+			for (SearchTask task : subtasks) {
+				schedules.addAll(task.join());
+			}
+			return schedules;
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.ArrayList;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+
+/**
+ * Interface used to be told when a WolfScheduler's schedule, schedule title, or course
+ * catalog changes, so views, indexes, and saved copies can update only what changed
+ * instead of reading everything again. Listeners are called after the change is made,
+ * in the order they were added, and only for changes that succeed. Every method does
+ * nothing by default, so a listener only overrides the changes it cares about.
+ *
+ * @author Michael Richardson
+ */
+public interface ScheduleListener {
+
+	/**
+	 * Called after an activity is added to the schedule.
+	 *
+	 * @param index    index of the activity in the schedule
+	 * @param activity activity added
+	 */
+	default void activityAdded(int index, Activity activity) {
+		// Ignored unless overridden
+	}
+
+	/**
+	 * Called after an activity is removed from the schedule.
+	 *
+	 * @param index    index the activity had in the schedule
+	 * @param activity activity removed
+	 */
+	default void activityRemoved(int index, Activity activity) {
+		// Ignored unless overridden
+	}
+
+	/**
+	 * Called after every activity is removed from the schedule at once.
+	 *
+	 * @param removed activities that were in the schedule, in schedule order
+	 */
+	default void scheduleReset(ArrayList<Activity> removed) {
+		// Ignored unless overridden
+	}
+
+	/**
+	 * Called after the schedule is given a different title.
+	 *
+	 * @param title new title of the schedule
+	 */
+	default void titleChanged(String title) {
+		// Ignored unless overridden
+	}
+
+	/**
+	 * Called after the course catalog is replaced. Every course in the catalog, and
+	 * which of them can be added to the schedule, may have changed.
+	 */
+	default void catalogReloaded() {
+		// Ignored unless overridden
+	}
+
+}
@@ -0,0 +1,164 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import java.util.Arrays;
+import java.util.List;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Interface used to rank generated schedules. A scorer gives each schedule a score
+ * where lower is better, such as a number of days on campus or minutes of gaps. To
+ * let the best schedules be found without scoring every schedule, a scorer also gives
+ * a lower bound on the score of any schedule that contains a partial schedule. The
+ * default bound is the score of the partial schedule itself, which is correct for any
+ * score that adding a course never lowers. Scorers that are not like this must
+ * override lowerBound(List). The courses passed to a scorer may be in any order and
+ * must not be kept after the call returns.
+ *
+ * @author Michael Richardson
+ */
+public interface ScheduleScorer {
+
+	/**
+	 * Returns the score of a complete schedule, where lower is better.
+	 *
+	 * @param schedule courses of the schedule
+	 * @return the score of the schedule
+	 */
+	double score(List<Course> schedule);
+
+	/**
+	 * Returns a score that no schedule containing every course of the partial
+	 * schedule can be better than.
+	 *
+	 * @param partial courses chosen so far
+	 * @return lower bound on the score of any schedule containing the courses
+	 */
+	default double lowerBound(List<Course> partial) {
+		return score(partial);
+	}
+
+	/**
+	 * Returns a scorer that adds the score of this scorer to the weighted score of another.
+	 * The lower bounds are added the same way, so weight must not be negative.
+	 *
+	 * @param other  scorer to add
+	 * @param weight weight of the other scorer
+	 * @return the combined scorer
+	 * @throws IllegalArgumentException if weight is negative
+	 */
+	default ScheduleScorer plus(ScheduleScorer other, double weight) {
+		if (weight < 0) {
+			throw new IllegalArgumentException("Invalid weight.");
+		}
+		ScheduleScorer first = this;
+		return new ScheduleScorer() {
+			@Override
+			public double score(List<Course> schedule) {
+				return first.score(schedule) + weight * other.score(schedule);
+			}
+
+			@Override
+			public double lowerBound(List<Course> partial) {
+				return first.lowerBound(partial) + weight * other.lowerBound(partial);
+			}
+		};
+	}
+
+	/**
+	 * Returns a scorer that counts the number of days with at least one class.
+	 *
+	 * @return scorer for days on campus
+	 */
+	static ScheduleScorer fewestDays() {
+		return schedule -> {
+			int days = 0;
+			for (Course c : schedule) {
+				days |= c.getMeetingDaysMask();
+			}
+			return Integer.bitCount(days);
+		};
+	}
+
+	/**
+	 * Returns a scorer that counts the number of classes that start before the given time.
+	 * Arranged classes never count.
+	 *
+	 * @param time earliest preferred start time in military time, such as 900
+	 * @return scorer for early classes
+	 */
+	static ScheduleScorer noClassesBefore(int time) {
+		int minutes = Activity.toMinutes(time);
+		return schedule -> {
+			int early = 0;
+			for (Course c : schedule) {
+				if (c.getMeetingCount() > 0 && c.getStartMinutes() < minutes) {
+					early++;
+				}
+			}
+			return early;
+		};
+	}
+
+	/**
+	 * Returns a scorer that totals the minutes between consecutive classes on each day.
+	 * Adding a class can fill a gap, so the lower bound is zero and this scorer does not
+	 * cut any branches of the search on its own.
+	 *
+	 * @return scorer for gaps between classes
+	 */
+	static ScheduleScorer minimumGaps() {
+		return new ScheduleScorer() {
+			@Override
+			public double score(List<Course> schedule) {
+				// Every meeting of the week, packed with its start in the high bits so they sort by start
+				int count = 0;
+				for (Course c : schedule) {
+					count += c.getMeetingCount();
+				}
+				long[] meetings = new long[count];
+				count = 0;
+				for (Course c : schedule) {
+					for (int m = 0; m < c.getMeetingCount(); m++) {
+						meetings[count++] = (long) c.getMeetingStart(m) << Integer.SIZE | c.getMeetingEnd(m);
+					}
+				}
+				Arrays.sort(meetings);
+				int gaps = 0;
+				for (int i = 1; i < meetings.length; i++) {
+					int start = (int) (meetings[i] >>> Integer.SIZE);
+					int previousEnd = (int) meetings[i - 1];
+					if (start / Activity.MINUTES_PER_DAY == previousEnd / Activity.MINUTES_PER_DAY) {
+						gaps += Math.max(0, start - previousEnd);
+					}
+				}
+				return gaps;
+			}
+
+			@Override
+			public double lowerBound(List<Course> partial) {
+				return 0;
+			}
+		};
+	}
+
+	/**
+	 * Returns a scorer that counts the number of courses not taught by the given instructor.
+	 *
+	 * @param instructorId unity id of the preferred instructor
+	 * @return scorer for the preferred instructor
+	 */
+	static ScheduleScorer preferredInstructor(String instructorId) {
+		return schedule -> {
+			int others = 0;
+			for (Course c : schedule) {
+				if (!c.getInstructorId().equals(instructorId)) {
+					others++;
+				}
+			}
+			return others;
+		};
+	}
+
+}
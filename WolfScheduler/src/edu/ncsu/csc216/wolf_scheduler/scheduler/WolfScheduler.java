@@ -6,10 +6,20 @@ package edu.ncsu.csc216.wolf_scheduler.scheduler;
 import java.io.FileNotFoundException;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
-import edu.ncsu.csc216.wolf_scheduler.course.ConflictException;
+import edu.ncsu.csc216.wolf_scheduler.course.ActivityIntervalIndex;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
 import edu.ncsu.csc216.wolf_scheduler.course.Event;
 import edu.ncsu.csc216.wolf_scheduler.io.ActivityRecordIO;
@@ -26,29 +36,106 @@ public class WolfScheduler {
 	
 	/** List used to store all available courses */
 	private ArrayList<Course> catalog;
+	/** Index in the catalog of each course by name, then by section, in catalog order */
+	private HashMap<String, LinkedHashMap<String, Integer>> catalogIndex;
+	/** Catalog courses by the days and times they meet */
+	private ActivityIntervalIndex<Course> catalogIntervals;
+	/** Conflicts between every pair of sections in the catalog */
+	private CatalogConflictGraph conflictGraph;
+	/**
+	 * Number of activities in the schedule that keep each catalog course from being
+	 * added, by duplicating or conflicting with it
+	 */
+	private int[] catalogBlockers;
 	/** List used to store the student's current scheduled courses */
 	private ArrayList<Activity> schedule;
+	/** Scheduled activities by the days and times they meet, kept in sync with schedule */
+	private ActivityIntervalIndex<Activity> scheduleIntervals;
 	/** Title of the current schedule */
 	private String title;
+	/** Listeners told about changes to the schedule and catalog, in the order they were added */
+	private ArrayList<ScheduleListener> scheduleListeners;
 
 	/**
 	 * Constructs a WolfScheduler object by accepting the fileName of a course catalog.
 	 * Initializes an empty list to store the student's schedule and sets the title to
-	 * a default value of "My Schedule".
+	 * a default value of "My Schedule". The catalog is loaded from its binary snapshot
+	 * instead when the snapshot is newer than the file.
 	 * @param fileName of the course catalog .txt file
 	 * @throws IllegalArgumentException if the file is not found
 	 */
 	public WolfScheduler(String fileName) throws IllegalArgumentException {
 		schedule = new ArrayList<Activity>(); 
+		scheduleIntervals = new ActivityIntervalIndex<Activity>();
+		scheduleListeners = new ArrayList<ScheduleListener>();
 		title = "My Schedule";
-		
+		loadCatalog(fileName);
+	}
+
+	/**
+	 * Replaces the course catalog with the courses in the given file, keeping the
+	 * student's schedule. Scheduled courses stay as they are even if the new catalog
+	 * changes or drops them, and which catalog courses can be added is worked out
+	 * again against the schedule. Listeners are told once the new catalog is in use.
+	 * @param fileName of the course catalog .txt file
+	 * @throws IllegalArgumentException if the file is not found
+	 */
+	public void reloadCatalog(String fileName) {
+		loadCatalog(fileName);
+		for (int i = 0; i < schedule.size(); i++) {
+			updateCatalogBlockers(schedule.get(i), 1);
+		}
+		for (ScheduleListener listener : scheduleListeners) {
+			listener.catalogReloaded();
+		}
+	}
+
+	/**
+	 * Loads the course catalog from the file and builds everything kept about it,
+	 * with no catalog courses blocked by the schedule.
+	 * @param fileName of the course catalog .txt file
+	 * @throws IllegalArgumentException if the file is not found
+	 */
+	private void loadCatalog(String fileName) {
 		// Attempt to load the course catalog from the file
 		try {
-			catalog = CourseRecordIO.readCourseRecords(fileName);
+			catalog = CourseRecordIO.readCourseRecordsWithSnapshot(fileName);
 		} catch (FileNotFoundException e) {
 			// Propagate the IAE to the WolfSchedulerGUI class if the file is not found
 			throw new IllegalArgumentException("Cannot find file.");
 		}	
+		buildCatalogIndex();
+		catalogIntervals = new ActivityIntervalIndex<Course>(catalog);
+		conflictGraph = new CatalogConflictGraph(catalog);
+		catalogBlockers = new int[catalog.size()];
+	}
+
+	/**
+	 * Builds the name and section index over the catalog so courses can be
+	 * found without scanning the whole catalog. The catalog never holds two
+	 * courses with the same name and section, so each entry is unique.
+	 */
+	private void buildCatalogIndex() {
+		catalogIndex = new HashMap<String, LinkedHashMap<String, Integer>>();
+		for (int i = 0; i < catalog.size(); i++) {
+			Course c = catalog.get(i);
+			catalogIndex.computeIfAbsent(c.getName(), k -> new LinkedHashMap<String, Integer>()).put(c.getSection(), i);
+		}
+	}
+
+	/**
+	 * Returns the index in the catalog of the given course and section.
+	 * @param name of the course
+	 * @param section of the course
+	 * @return index of the course in the catalog, or -1 if it is not found
+	 */
+	private int getCatalogIndex(String name, String section) {
+		LinkedHashMap<String, Integer> sections = catalogIndex.get(name);
+		if (sections == null) {
+			return -1;
+		}
+		Integer index = sections.get(section);
+		return index == null ? -1 : index;
 	}
 
 	/**
@@ -68,6 +155,98 @@ public class WolfScheduler {
 		return catalogArray; 
 	}
 
+	/**
+	 * Returns the catalog as a list with one row for each course, holding the same
+	 * four columns as getCourseCatalog(). Neither the list nor its rows can be
+	 * modified. Each row is the course's cached display list, so reading the rows
+	 * again does not build any new strings or arrays.
+	 * @return list of the catalog rows
+	 */
+	public List<List<String>> getCourseCatalogRows() {
+		return new AbstractList<List<String>>() {
+			@Override
+			public List<String> get(int index) {
+				return catalog.get(index).getShortDisplay();
+			}
+
+			@Override
+			public int size() {
+				return catalog.size();
+			}
+		};
+	}
+
+	/**
+	 * Formats the catalog courses that can still be added to the schedule into a
+	 * table with one row for each course and four columns for name, section, title,
+	 * and meeting times. A course can be added if it does not duplicate or conflict
+	 * with any activity in the schedule. Which courses can be added is kept up to
+	 * date as the schedule changes, so this only has to check a count per course.
+	 * @return courseTable 2D array
+	 */
+	public String[][] getAddableCourseCatalog() {
+		int addable = 0;
+		for (int i = 0; i < catalogBlockers.length; i++) {
+			if (catalogBlockers[i] == 0) {
+				addable++;
+			}
+		}
+		String[][] catalogArray = new String[addable][4];
+		int row = 0;
+		for (int i = 0; i < catalog.size(); i++) {
+			if (catalogBlockers[i] == 0) {
+				catalogArray[row++] = catalog.get(i).getShortDisplayArray();
+			}
+		}
+		return catalogArray;
+	}
+
+	/**
+	 * Returns the catalog courses that can currently be added to the schedule as a
+	 * list with one row for each course, holding the same four columns as
+	 * getAddableCourseCatalog(). Neither the list nor its rows can be modified. The
+	 * courses are chosen when this is called, and each row is the course's cached
+	 * display list.
+	 * @return list of the addable catalog rows
+	 */
+	public List<List<String>> getAddableCourseCatalogRows() {
+		int[] addable = new int[catalogBlockers.length];
+		int count = 0;
+		for (int i = 0; i < catalogBlockers.length; i++) {
+			if (catalogBlockers[i] == 0) {
+				addable[count++] = i;
+			}
+		}
+		int size = count;
+		return new AbstractList<List<String>>() {
+			@Override
+			public List<String> get(int index) {
+				if (index >= size) {
+					throw new IndexOutOfBoundsException(index);
+				}
+				return catalog.get(addable[index]).getShortDisplay();
+			}
+
+			@Override
+			public int size() {
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * Method used to check whether a course from the catalog can still be added
+	 * to the student's schedule without duplicating or conflicting with any
+	 * activity in it.
+	 * @param name of the course
+	 * @param section of the course
+	 * @return true if the course is in the catalog and can be added
+	 */
+	public boolean isAddable(String name, String section) {
+		int index = getCatalogIndex(name, section);
+		return index != -1 && catalogBlockers[index] == 0;
+	}
+
 	/**
 	 * Formats the schedule list of activities into a table with one row
 	 * for each activity and four columns for name, section, title, and meeting times.
@@ -85,6 +264,27 @@ public class WolfScheduler {
 		return scheduleArray; 
 	}
 
+	/**
+	 * Returns the schedule as a list with one row for each activity, holding the
+	 * same four columns as getScheduledActivities(). Neither the list nor its rows
+	 * can be modified. The list always shows the current schedule, even after it
+	 * changes, and each row is the activity's cached display list.
+	 * @return list of the schedule rows
+	 */
+	public List<List<String>> getScheduledActivityRows() {
+		return new AbstractList<List<String>>() {
+			@Override
+			public List<String> get(int index) {
+				return schedule.get(index).getShortDisplay();
+			}
+
+			@Override
+			public int size() {
+				return schedule.size();
+			}
+		};
+	}
+
 	/**
 	 * Formats the schedule list of activities into a table with one row
 	 * for each activity and seven columns for name, section, title,
@@ -103,6 +303,27 @@ public class WolfScheduler {
 		return scheduleArray; 
 	}
 
+	/**
+	 * Returns the schedule as a list with one row for each activity, holding the
+	 * same seven columns as getFullScheduledActivities(). Neither the list nor its
+	 * rows can be modified. The list always shows the current schedule, even after
+	 * it changes, and each row is the activity's cached display list.
+	 * @return list of the full schedule rows
+	 */
+	public List<List<String>> getFullScheduledActivityRows() {
+		return new AbstractList<List<String>>() {
+			@Override
+			public List<String> get(int index) {
+				return schedule.get(index).getLongDisplay();
+			}
+
+			@Override
+			public int size() {
+				return schedule.size();
+			}
+		};
+	}
+
 	/**
 	 * Method used to find and retrieve a specific course and section from
 	 * the course catalog list. Returns the course if found, returns null
@@ -112,18 +333,159 @@ public class WolfScheduler {
 	 * @return currentCourse if found in the catalog
 	 */
 	public Course getCourseFromCatalog(String name, String section) {
-		// Iterate through the course catalog
-		for (int i = 0; i < catalog.size(); i++) {
-			Course currentCourse = catalog.get(i);
-			// Check to see if the provided name and section match the current Course's name and section
-			if (currentCourse.getName().equals(name) && 
-				currentCourse.getSection().equals(section)) {
-				// Return the current Course and exit the loop if a match is found 				
-				return currentCourse;  
+		// Look up the sections of the course, then the desired section
+		int index = getCatalogIndex(name, section);
+		if (index == -1) {
+			// Return null if the course is not found in the catalog
+			return null;
+		}
+		return catalog.get(index);
+	}
+
+	/**
+	 * Method used to retrieve every section of a course from the course
+	 * catalog list. The sections are returned in catalog order, and an
+	 * empty list is returned if the course is not found in the catalog.
+	 * @param name of the desired course
+	 * @return list of the sections of the course
+	 */
+	public ArrayList<Course> getCourseSectionsFromCatalog(String name) {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		LinkedHashMap<String, Integer> sections = catalogIndex.get(name);
+		if (sections != null) {
+			for (int index : sections.values()) {
+				courses.add(catalog.get(index));
+			}
+		}
+		return courses;
+	}
+
+	/**
+	 * Method used to retrieve every section in the course catalog that
+	 * conflicts with the given course and section, in order of start time.
+	 * The conflicts are looked up in the catalog's precomputed conflict graph,
+	 * and an empty list is returned if the course is not found in the catalog.
+	 * @param name of the course
+	 * @param section of the course
+	 * @return list of the conflicting sections
+	 */
+	public ArrayList<Course> getConflictingCoursesFromCatalog(String name, String section) {
+		ArrayList<Course> courses = new ArrayList<Course>();
+		int index = getCatalogIndex(name, section);
+		if (index != -1) {
+			for (int conflict : conflictGraph.getConflicts(index)) {
+				courses.add(catalog.get(conflict));
 			}
 		}
-		// Return null if the course is not found in the catalog
-		return null;
+		return courses;
+	}
+
+	/**
+	 * Method used to retrieve every section in the course catalog that meets on
+	 * any of the given days at any time from the start time to the end time,
+	 * inclusive, such as every section meeting on Tuesday from 1:00PM to 2:00PM.
+	 * The sections are looked up in an index of the catalog by day and time, in
+	 * no particular order.
+	 * @param meetingDays days to check, such as "TH"
+	 * @param startTime start of the time to check in military time
+	 * @param endTime end of the time to check in military time
+	 * @return list of the sections meeting at the days and times
+	 * @throws IllegalArgumentException if the times are not valid or startTime is after endTime
+	 */
+	public ArrayList<Course> getCatalogCoursesMeeting(String meetingDays, int startTime, int endTime) {
+		if (meetingDays == null || startTime < 0 || startTime > 2359 || startTime % 100 > 59
+				|| endTime < startTime || endTime > 2359 || endTime % 100 > 59) {
+			throw new IllegalArgumentException("Invalid meeting days and times.");
+		}
+		return catalogIntervals.getOverlapping(meetingDays, startTime, endTime);
+	}
+
+	/**
+	 * Method used to check whether two sections in the course catalog conflict,
+	 * using the catalog's precomputed conflict graph.
+	 * @param name of the first course
+	 * @param section of the first course
+	 * @param otherName of the second course
+	 * @param otherSection of the second course
+	 * @return true if both courses are in the catalog and they conflict
+	 */
+	public boolean catalogCoursesConflict(String name, String section, String otherName, String otherSection) {
+		int index = getCatalogIndex(name, section);
+		int other = getCatalogIndex(otherName, otherSection);
+		return index != -1 && other != -1 && conflictGraph.conflicts(index, other);
+	}
+
+	/**
+	 * Method used to generate every conflict-free schedule that holds one section
+	 * of each of the given courses. Each schedule lists its sections in the order
+	 * the course names were given, with repeated names ignored. If includeEvents
+	 * is true, only sections that fit around the events already in the student's
+	 * schedule are used. Schedules are generated lazily as the stream is consumed,
+	 * and there are none if any course is not found in the catalog.
+	 * @param courseNames names of the desired courses
+	 * @param includeEvents true if the schedules must fit around the student's events
+	 * @return stream of the conflict-free schedules
+	 */
+	public Stream<ArrayList<Course>> generateSchedules(List<String> courseNames, boolean includeEvents) {
+		return createScheduleGenerator(courseNames, includeEvents).stream();
+	}
+
+	/**
+	 * Method used to generate conflict-free schedules for the given courses in
+	 * parallel, using every core. The search stops once maxSchedules schedules
+	 * are found or cancelled returns true, so a GUI can stop a long search. If
+	 * the search finishes, the schedules are in the same order as
+	 * generateSchedules() returns them.
+	 * @param courseNames names of the desired courses
+	 * @param includeEvents true if the schedules must fit around the student's events
+	 * @param maxSchedules largest number of schedules to find
+	 * @param cancelled returns true once the search should stop, or null if it is never cancelled
+	 * @return list of the conflict-free schedules found
+	 * @throws IllegalArgumentException if maxSchedules is negative
+	 */
+	public ArrayList<ArrayList<Course>> generateSchedulesInParallel(List<String> courseNames, boolean includeEvents,
+			int maxSchedules, BooleanSupplier cancelled) {
+		return createScheduleGenerator(courseNames, includeEvents).generateInParallel(ForkJoinPool.commonPool(),
+				maxSchedules, cancelled);
+	}
+
+	/**
+	 * Method used to find the best conflict-free schedules for the given courses,
+	 * ranked by the given scorer with the lowest score first. Only as many
+	 * schedules as requested are kept while searching, and branches of the search
+	 * that cannot beat them are skipped.
+	 * @param courseNames names of the desired courses
+	 * @param includeEvents true if the schedules must fit around the student's events
+	 * @param maxSchedules largest number of schedules to return
+	 * @param scorer scorer used to rank the schedules
+	 * @return list of the best schedules, best first
+	 * @throws IllegalArgumentException if maxSchedules is negative or scorer is null
+	 */
+	public ArrayList<ArrayList<Course>> findBestSchedules(List<String> courseNames, boolean includeEvents,
+			int maxSchedules, ScheduleScorer scorer) {
+		return createScheduleGenerator(courseNames, includeEvents).findBest(maxSchedules, scorer);
+	}
+
+	/**
+	 * Creates a schedule generator over the catalog sections of the given courses.
+	 * @param courseNames names of the desired courses
+	 * @param includeEvents true if the schedules must fit around the student's events
+	 * @return generator for the courses
+	 */
+	private ScheduleGenerator createScheduleGenerator(List<String> courseNames, boolean includeEvents) {
+		ArrayList<ArrayList<Course>> sections = new ArrayList<ArrayList<Course>>();
+		for (String name : new LinkedHashSet<String>(courseNames)) {
+			sections.add(getCourseSectionsFromCatalog(name));
+		}
+		ArrayList<Event> events = new ArrayList<Event>();
+		if (includeEvents) {
+			for (int i = 0; i < schedule.size(); i++) {
+				if (schedule.get(i) instanceof Event) {
+					events.add((Event) schedule.get(i));
+				}
+			}
+		}
+		return new ScheduleGenerator(sections, events);
 	}
 
 	/**
@@ -153,20 +515,21 @@ public class WolfScheduler {
 				// Throw an IAE if the course is already found in the student's schedule	
 				throw new IllegalArgumentException("You are already enrolled in " + name);
 			}
-			
-			// Check for conflicts
-			try {
-				course.checkConflict(scheduledCourse);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The course cannot be added due to a conflict.");
-			}
 		}
 		
-
+		// Check for conflicts against only the activities meeting on the same days and times
+		if (scheduleIntervals.hasConflict(course)) {
+			throw new IllegalArgumentException("The course cannot be added due to a conflict.");
+		}
 		
 		/* No issues were found with the desired course so it 
 		 * is added to the student's schedule and true is returned */
 		schedule.add(course);
+		scheduleIntervals.add(course);
+		updateCatalogBlockers(course, 1);
+		for (ScheduleListener listener : scheduleListeners) {
+			listener.activityAdded(schedule.size() - 1, course);
+		}
 		return true;
 	}
 	
@@ -191,17 +554,20 @@ public class WolfScheduler {
 				// Throw an IAE if the event is already found in the student's schedule	
 				throw new IllegalArgumentException("You have already created an event called " + eventTitle);
 			}
-			
-			// Check for conflicts
-			try {
-				event.checkConflict(scheduledEvent);
-			} catch (ConflictException e) {
-				throw new IllegalArgumentException("The event cannot be added due to a conflict.");
-			}
+		}
+		
+		// Check for conflicts against only the activities meeting on the same days and times
+		if (scheduleIntervals.hasConflict(event)) {
+			throw new IllegalArgumentException("The event cannot be added due to a conflict.");
 		}
 		/* No issues were found with the desired event so it 
 		 * is added to the student's schedule */
 		schedule.add(event);
+		scheduleIntervals.add(event);
+		updateCatalogBlockers(event, 1);
+		for (ScheduleListener listener : scheduleListeners) {
+			listener.activityAdded(schedule.size() - 1, event);
+		}
 	}
 	
 	
@@ -214,13 +580,19 @@ public class WolfScheduler {
 	 * @return true if successful and false otherwise
 	 */
 	public boolean removeActivityFromSchedule(int idx) {
+		Activity removed;
 		try {
-			schedule.remove(idx);
-			return true;
+			removed = schedule.remove(idx);
 		} catch (IndexOutOfBoundsException e) {
 			// The course was not found in the student's schedule and false is returned
 			return false;
 		}
+		scheduleIntervals.remove(removed);
+		updateCatalogBlockers(removed, -1);
+		for (ScheduleListener listener : scheduleListeners) {
+			listener.activityRemoved(idx, removed);
+		}
+		return true;
 	}
 	
 	/**
@@ -228,8 +600,88 @@ public class WolfScheduler {
 	 * the schedule and removes all classes from it.
 	 */
 	public void resetSchedule() {
+		ArrayList<Activity> removed = schedule;
 		schedule = new ArrayList<Activity>();
-		
+		scheduleIntervals = new ActivityIntervalIndex<Activity>();
+		Arrays.fill(catalogBlockers, 0);
+		for (ScheduleListener listener : scheduleListeners) {
+			listener.scheduleReset(removed);
+		}
+	}
+
+	/**
+	 * Adds a listener to be told about every change to the schedule, its title, and
+	 * the catalog from now on.
+	 * @param listener listener to add
+	 * @throws IllegalArgumentException if the listener is null
+	 */
+	public void addScheduleListener(ScheduleListener listener) {
+		if (listener == null) {
+			throw new IllegalArgumentException("Invalid listener.");
+		}
+		scheduleListeners.add(listener);
+	}
+
+	/**
+	 * Removes a listener so it is no longer told about any changes.
+	 * @param listener listener to remove
+	 * @return true if the listener had been added
+	 */
+	public boolean removeScheduleListener(ScheduleListener listener) {
+		return scheduleListeners.remove(listener);
+	}
+
+	/**
+	 * Updates the number of activities blocking each catalog course that the
+	 * given activity duplicates or conflicts with, after the activity is added
+	 * to or removed from the schedule. A course blocks every section with the
+	 * same name, including itself, and every section it conflicts with, which
+	 * come from the conflict graph instead of comparing against the catalog.
+	 * @param activity activity added or removed
+	 * @param change 1 if the activity was added or -1 if it was removed
+	 */
+	private void updateCatalogBlockers(Activity activity, int change) {
+		int[] conflicts = null;
+		if (activity instanceof Course) {
+			Course course = (Course) activity;
+			int index = getCatalogIndex(course.getName(), course.getSection());
+			if (index != -1 && catalog.get(index) == course) {
+				for (int conflict : conflictGraph.getConflicts(index)) {
+					catalogBlockers[conflict] += change;
+				}
+				// Sections that both duplicate and conflict with the course are only counted once
+				for (int duplicate : catalogIndex.get(course.getName()).values()) {
+					if (!conflictGraph.conflicts(index, duplicate)) {
+						catalogBlockers[duplicate] += change;
+					}
+				}
+				return;
+			}
+			// A course scheduled from an earlier catalog still blocks every section with its name
+			conflicts = conflictGraph.getConflicts(activity);
+			int[] sorted = conflicts.clone();
+			Arrays.sort(sorted);
+			for (int duplicate : getCatalogSectionIndexes(course.getName())) {
+				if (Arrays.binarySearch(sorted, duplicate) < 0) {
+					catalogBlockers[duplicate] += change;
+				}
+			}
+		} else {
+			conflicts = conflictGraph.getConflicts(activity);
+		}
+		for (int conflict : conflicts) {
+			catalogBlockers[conflict] += change;
+		}
+	}
+
+	/**
+	 * Returns the catalog indexes of every section of the course.
+	 * @param name of the course
+	 * @return indexes of the sections, which are empty if the course is not in the catalog
+	 */
+	private Iterable<Integer> getCatalogSectionIndexes(String name) {
+		LinkedHashMap<String, Integer> sections = catalogIndex.get(name);
+		return sections == null ? new ArrayList<Integer>() : sections.values();
 	}
 
 	/**
@@ -249,7 +701,13 @@ public class WolfScheduler {
 		if (title == null) {
 			throw new IllegalArgumentException("Title cannot be null.");
 		}
+		boolean changed = !title.equals(this.title);
 		this.title = title;
+		if (changed) {
+			for (ScheduleListener listener : scheduleListeners) {
+				listener.titleChanged(title);
+			}
+		}
 	}
 
 	/**
@@ -268,6 +726,22 @@ public class WolfScheduler {
 		}
 	}
 
+	/**
+	 * Exports the current schedule to a file without ever leaving the file partly
+	 * written, so it can be used to save the schedule often. The schedule is written to
+	 * a temporary file next to the file and then moved over it in one step, so after a
+	 * crash or a full disk the file holds either the last schedule saved or this one.
+	 * @param fileName of the .txt file
+	 * @throws IllegalArgumentException if the file cannot be written to or replaced.
+	 */
+	public void exportScheduleAtomically(String fileName) throws IllegalArgumentException {
+		try {
+			ActivityRecordIO.writeActivityRecordsAtomically(fileName, schedule, StandardCharsets.UTF_8);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("The file cannot be saved.");
+		}
+	}
+
 
 
 }
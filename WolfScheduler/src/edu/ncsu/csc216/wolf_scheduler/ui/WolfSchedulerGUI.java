@@ -9,6 +9,8 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
 import java.awt.event.MouseEvent;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -30,7 +32,9 @@ import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
 import javax.swing.table.AbstractTableModel;
 
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.scheduler.ScheduleListener;
 import edu.ncsu.csc216.wolf_scheduler.scheduler.WolfScheduler;
 
 /**
@@ -152,6 +156,8 @@ public class WolfSchedulerGUI extends JFrame {
 		private JButton btnReset;
 		/** Button for displaying the final schedule */
 		private JButton btnDisplay;
+		/** Check box for showing only the catalog courses that can be added to the schedule */
+		private JCheckBox cbAddableOnly;
 		/** JTable for displaying the catalog of Courses */
 		private JTable tableCatalog;
 		/** JTable for displaying the schdule of Courses */
@@ -259,9 +265,11 @@ public class WolfSchedulerGUI extends JFrame {
 			txtScheduleTitle = new JTextField(scheduler.getScheduleTitle(), 20); 
 			btnSetScheduleTitle = new JButton("Set Title");
 			btnSetScheduleTitle.addActionListener(this);
+			cbAddableOnly = new JCheckBox("Show only addable courses");
+			cbAddableOnly.addActionListener(this);
 			
 			JPanel pnlActions = new JPanel();
-			pnlActions.setLayout(new GridLayout(3, 1));
+			pnlActions.setLayout(new GridLayout(4, 1));
 			JPanel pnlAddRemove = new JPanel();
 			pnlAddRemove.setLayout(new GridLayout(1, 2));
 			pnlAddRemove.add(btnAddCourse);
@@ -278,6 +286,7 @@ public class WolfSchedulerGUI extends JFrame {
 			pnlActions.add(pnlAddRemove);
 			pnlActions.add(pnlResetDisplay);
 			pnlActions.add(pnlScheduleTitle);
+			pnlActions.add(cbAddableOnly);
 			
 			Border lowerEtched = BorderFactory.createEtchedBorder(EtchedBorder.LOWERED);
 			TitledBorder borderActions = BorderFactory.createTitledBorder(lowerEtched, "Actions");
@@ -310,6 +319,9 @@ public class WolfSchedulerGUI extends JFrame {
 
 				@Override
 				public void valueChanged(ListSelectionEvent e) {
+					if (tableCatalog.getSelectedRow() == -1) {
+						return;
+					}
 					String name = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 0).toString();
 					String section = tableCatalog.getValueAt(tableCatalog.getSelectedRow(), 1).toString();
 					Course c = scheduler.getCourseFromCatalog(name, section);
@@ -337,7 +349,16 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollSchedule.setBorder(borderSchedule);
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
-			updateTables();
+			scheduler.addScheduleListener(catalogTableModel);
+			scheduler.addScheduleListener(scheduleTableModel);
+			scheduler.addScheduleListener(new ScheduleListener() {
+				@Override
+				public void titleChanged(String title) {
+					borderSchedule.setTitle(title);
+					scrollSchedule.setToolTipText(title);
+					scrollSchedule.repaint();
+				}
+			});
 			
 			//Set up the course details panel
 			pnlCourseDetails = new JPanel();
@@ -525,7 +546,6 @@ public class WolfSchedulerGUI extends JFrame {
 						JOptionPane.showMessageDialog(WolfSchedulerGUI.this, iae.getMessage());
 					}
 				}
-				updateTables();
 			} else if (e.getSource() == btnRemoveCourse) {
 				int row = tableSchedule.getSelectedRow();
 				if (row == -1 || row == tableSchedule.getRowCount()) {
@@ -533,10 +553,11 @@ public class WolfSchedulerGUI extends JFrame {
 				} else {
 					scheduler.removeActivityFromSchedule(row);
 				}
-				updateTables();
 			} else if (e.getSource() == btnReset) {
 				scheduler.resetSchedule();
-				updateTables();
+			} else if (e.getSource() == cbAddableOnly) {
+				catalogTableModel.updateData();
+				catalogTableModel.fireTableDataChanged();
 			} else if (e.getSource() == btnDisplay) {
 				cardLayout.show(panel, SCHEDULE_PANEL);
 				pnlSchedule.updateFinalizedTable();
@@ -546,7 +567,6 @@ public class WolfSchedulerGUI extends JFrame {
 				} catch (IllegalArgumentException iae) {
 					JOptionPane.showMessageDialog(WolfSchedulerGUI.this, "Invalid title.");
 				}
-				borderSchedule.setTitle(scheduler.getScheduleTitle());
 			} else if (e.getSource() == btnAddEvent) {
 				try {
 					String eventMeetingDays = "";
@@ -623,7 +643,6 @@ public class WolfSchedulerGUI extends JFrame {
 					scheduler.addEventToSchedule(txtEventTitle.getText(), eventMeetingDays, eventStartTime, eventEndTime, txtDetails.getText());
 					
 					resetEvent();
-					updateTables();
 				} catch (IllegalArgumentException iae) {
 					String message = iae.getMessage();
 					if (message == null || "".equals(message)) {
@@ -658,14 +677,6 @@ public class WolfSchedulerGUI extends JFrame {
 			txtDetails.setText("");
 		}
 		
-		/**
-		 * Updates the catalog and schedule tables.
-		 */
-		private void updateTables() {
-			catalogTableModel.updateData();
-			scheduleTableModel.updateData();
-		}
-		
 		/**
 		 * Updates the pnlCourseDetails with full information about the most
 		 * recently selected course.
@@ -684,17 +695,19 @@ public class WolfSchedulerGUI extends JFrame {
 		
 		/**
 		 * {@link CourseTableModel} is the object underlying the {@link JTable} object that displays
-		 * the list of {@link Course}s to the user.
+		 * the list of {@link Course}s to the user. The rows are a live view of the
+		 * {@link WolfScheduler}, so the catalog is only read once, and schedule changes
+		 * only fire events for the rows that changed.
 		 * @author Sarah Heckman
 		 */
-		private class CourseTableModel extends AbstractTableModel {
+		private class CourseTableModel extends AbstractTableModel implements ScheduleListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Meeting Information"};
-			/** Data stored in the table */
-			private Object [][] data;
+			/** Rows of the table, which are cached by each activity and cannot be modified */
+			private List<List<String>> data;
 			/** Boolean flag if the model applies to the catalog or schedule */
 			private boolean catalog;
 			
@@ -723,7 +736,7 @@ public class WolfSchedulerGUI extends JFrame {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -745,31 +758,90 @@ public class WolfSchedulerGUI extends JFrame {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+					return data.get(row).get(col);
+				} catch (IndexOutOfBoundsException e) {
 					return null;
 				}
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
+			 * Shows the new row of the schedule, or the courses that can still be
+			 * added if only those are shown in the catalog.
+			 * @param index index of the activity in the schedule
+			 * @param activity activity added
 			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
+			@Override
+			public void activityAdded(int index, Activity activity) {
+				if (!catalog) {
+					fireTableRowsInserted(index, index);
+				} else {
+					updateAddable();
+				}
+			}
+
+			/**
+			 * Drops the removed row of the schedule, or shows the courses that can
+			 * still be added if only those are shown in the catalog.
+			 * @param index index the activity had in the schedule
+			 * @param activity activity removed
+			 */
+			@Override
+			public void activityRemoved(int index, Activity activity) {
+				if (!catalog) {
+					fireTableRowsDeleted(index, index);
+				} else {
+					updateAddable();
+				}
+			}
+
+			/**
+			 * Drops every row of the schedule, or shows the courses that can still
+			 * be added if only those are shown in the catalog.
+			 * @param removed activities that were in the schedule
+			 */
+			@Override
+			public void scheduleReset(ArrayList<Activity> removed) {
+				if (!catalog) {
+					if (!removed.isEmpty()) {
+						fireTableRowsDeleted(0, removed.size() - 1);
+					}
+				} else {
+					updateAddable();
+				}
+			}
+
+			/**
+			 * Shows the new catalog, if this model shows the catalog.
+			 */
+			@Override
+			public void catalogReloaded() {
+				if (catalog) {
+					updateData();
+					fireTableDataChanged();
+				}
+			}
+
+			/**
+			 * Updates the catalog rows if only the courses that can still be added
+			 * are shown, since those change with the schedule.
+			 */
+			private void updateAddable() {
+				if (cbAddableOnly.isSelected()) {
+					updateData();
+					fireTableDataChanged();
+				}
 			}
 			
 			/**
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
-				if (catalog) {
-					data = scheduler.getCourseCatalog();
+				if (catalog && cbAddableOnly.isSelected()) {
+					data = scheduler.getAddableCourseCatalogRows();
+				} else if (catalog) {
+					data = scheduler.getCourseCatalogRows();
 				} else {
-					data = scheduler.getScheduledActivities();
+					data = scheduler.getScheduledActivityRows();
 				}
 			}
 		}
@@ -838,6 +910,7 @@ public class WolfSchedulerGUI extends JFrame {
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 			
 			updateFinalizedTable();
+			scheduler.addScheduleListener(scheduleTableModel);
 			
 			add(pnlActions);
 			add(scrollSchedule);
@@ -869,7 +942,6 @@ public class WolfSchedulerGUI extends JFrame {
 		 * Updates the finalized schedule table
 		 */
 		public void updateFinalizedTable() {
-			scheduleTableModel.updateData();
 			borderSchedule.setTitle(scheduler.getScheduleTitle());
 			scrollSchedule.setToolTipText(scheduler.getScheduleTitle());
 		}
@@ -879,14 +951,14 @@ public class WolfSchedulerGUI extends JFrame {
 		 * the list of {@link Course}s, and all their data, to the user.
 		 * @author Sarah Heckman
 		 */
-		private class FullCourseTableModel extends AbstractTableModel {
+		private class FullCourseTableModel extends AbstractTableModel implements ScheduleListener {
 			
 			/** ID number used for object serialization. */
 			private static final long serialVersionUID = 1L;
 			/** Column names for the table */
 			private String [] columnNames = {"Name", "Section", "Title", "Credits", "Instructor", "Meeting Information", "Details"};
-			/** Data stored in the table */
-			private Object [][] data;
+			/** Rows of the table, which are cached by each activity and cannot be modified */
+			private List<List<String>> data;
 			
 			/**
 			 * Constructs the {@link CourseTableModel} by requesting the latest information
@@ -911,7 +983,7 @@ public class WolfSchedulerGUI extends JFrame {
 			public int getRowCount() {
 				if (data == null) 
 					return 0;
-				return data.length;
+				return data.size();
 			}
 			
 			/**
@@ -933,28 +1005,48 @@ public class WolfSchedulerGUI extends JFrame {
 				if (data == null)
 					return null;
 				try {
-					return data[row][col];
-				} catch (ArrayIndexOutOfBoundsException e) {
+					return data.get(row).get(col);
+				} catch (IndexOutOfBoundsException e) {
 					return null;
 				}
 			}
 			
 			/**
-			 * Sets the given value to the given {row, col} location.
-			 * @param value Object to modify in the data.
-			 * @param row location to modify the data.
-			 * @param col location to modify the data.
+			 * Shows the new row of the schedule.
+			 * @param index index of the activity in the schedule
+			 * @param activity activity added
+			 */
+			@Override
+			public void activityAdded(int index, Activity activity) {
+				fireTableRowsInserted(index, index);
+			}
+
+			/**
+			 * Drops the removed row of the schedule.
+			 * @param index index the activity had in the schedule
+			 * @param activity activity removed
 			 */
-			public void setValueAt(Object value, int row, int col) {
-				data[row][col] = value;
-				fireTableCellUpdated(row, col);
+			@Override
+			public void activityRemoved(int index, Activity activity) {
+				fireTableRowsDeleted(index, index);
+			}
+
+			/**
+			 * Drops every row of the schedule.
+			 * @param removed activities that were in the schedule
+			 */
+			@Override
+			public void scheduleReset(ArrayList<Activity> removed) {
+				if (!removed.isEmpty()) {
+					fireTableRowsDeleted(0, removed.size() - 1);
+				}
 			}
 			
 			/**
 			 * Updates the given model with {@link Course} information from the {@link WolfScheduler}.
 			 */
 			private void updateData() {
-				data = scheduler.getFullScheduledActivities();
+				data = scheduler.getFullScheduledActivityRows();
 			}
 		}
 		
@@ -0,0 +1,122 @@
+package edu.ncsu.csc216.wolf_scheduler.course;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests ActivityIntervalIndex.
+ * @author Michael Richardson
+ */
+public class ActivityIntervalIndexTest {
+
+	/** Meeting days used for random activities, with events also meeting on weekends */
+	private static final String[] MEETING_DAYS = {"MW", "TH", "MWF", "M", "F", "MTWHF", "SU", "U", "A"};
+
+	/**
+	 * Tests that the activities found match comparing against every activity, as
+	 * activities are added and removed.
+	 */
+	@Test
+	public void testMatchesEveryActivity() {
+		Random random = new Random(216);
+		ActivityIntervalIndex<Activity> index = new ActivityIntervalIndex<Activity>();
+		List<Activity> indexed = new ArrayList<Activity>();
+		for (int round = 0; round < 2000; round++) {
+			if (!indexed.isEmpty() && random.nextInt(3) == 0) {
+				Activity removed = indexed.remove(random.nextInt(indexed.size()));
+				assertTrue(index.remove(removed));
+				assertFalse(index.remove(removed));
+			} else {
+				Activity added = randomActivity(random, round);
+				index.add(added);
+				indexed.add(added);
+			}
+			assertEquals(indexed.size(), index.size());
+
+			Activity query = randomActivity(random, -1);
+			List<Activity> expected = new ArrayList<Activity>();
+			for (Activity e : indexed) {
+				if (query.conflictsWith(e)) {
+					expected.add(e);
+				}
+			}
+			assertSame(expected, index.getConflicts(query));
+			assertSame(expected, index.getOverlapping(query.getMeetingDays(), query.getStartTime(), query.getEndTime()));
+			assertEquals(!expected.isEmpty(), index.hasConflict(query));
+			assertEquals(!expected.isEmpty(), index.hasOverlap(query.getMeetingDays(), query.getStartTime(), query.getEndTime()));
+		}
+	}
+
+	/**
+	 * Tests activities that touch at the ends of their times, at the edges of the day, and
+	 * conflicts with an activity already in the index.
+	 */
+	@Test
+	public void testEdges() {
+		Event morning = new Event("Morning", "MW", 0, 1000, "");
+		Event noon = new Event("Noon", "W", 1000, 1200, "");
+		Event night = new Event("Night", "MWU", 1201, 2359, "");
+		Course arranged = new Course("CSC 216", "Title", "601", 3, "id", "A");
+		ActivityIntervalIndex<Activity> index = new ActivityIntervalIndex<Activity>(Arrays.asList(morning, noon, night, arranged));
+		assertEquals(4, index.size());
+
+		assertSame(Arrays.asList(noon), index.getConflicts(morning));
+		assertSame(Arrays.asList(morning), index.getOverlapping("M", 959, 1000));
+		assertSame(Arrays.asList(morning, noon), index.getOverlapping("W", 1000, 1000));
+		assertSame(Arrays.asList(night), index.getOverlapping("U", 0, 2359));
+		assertSame(Arrays.asList(morning, noon, night), index.getOverlapping("MTWHFSU", 0, 2359));
+		assertSame(new ArrayList<Activity>(), index.getOverlapping("A", 0, 2359));
+		assertSame(new ArrayList<Activity>(), index.getConflicts(arranged));
+
+		// An activity does not conflict with itself, but does overlap its own time
+		assertFalse(index.hasConflict(night));
+		assertTrue(index.hasOverlap("U", 1201, 1201));
+
+		assertTrue(index.remove(arranged));
+		assertTrue(index.remove(noon));
+		assertFalse(index.remove(new Event("Noon", "W", 1000, 1200, "")));
+		assertEquals(2, index.size());
+		assertSame(new ArrayList<Activity>(), index.getConflicts(morning));
+	}
+
+	/**
+	 * Asserts that the activities found are the expected ones, in any order, with none
+	 * found twice.
+	 * @param expected activities expected
+	 * @param actual   activities found
+	 */
+	private static void assertSame(List<Activity> expected, List<Activity> actual) {
+		assertEquals(expected.size(), actual.size());
+		for (Activity e : expected) {
+			assertTrue(actual.stream().anyMatch(a -> a == e));
+		}
+	}
+
+	/**
+	 * Returns a random event, or an arranged course.
+	 * @param random source of random values
+	 * @param number number used in the title
+	 * @return the activity
+	 */
+	private static Activity randomActivity(Random random, int number) {
+		String days = MEETING_DAYS[random.nextInt(MEETING_DAYS.length)];
+		if ("A".equals(days)) {
+			return new Course("CSC 216", "Title", "601", 3, "id", days);
+		}
+		int start = random.nextInt(23) * 100 + random.nextInt(60);
+		int end = Math.min(2359, start + random.nextInt(3) * 100 + random.nextInt(60));
+		if (end % 100 >= 60) {
+			end = Math.min(2359, end + 40);
+		}
+		return new Event("Event " + number, days, start, end, "");
+	}
+
+}
@@ -61,6 +61,95 @@ class ActivityTest {
 	    Exception e4 = assertThrows(ConflictException.class, () -> a4.checkConflict(a3));
 	    assertEquals("Schedule conflict.", e4.getMessage());
 	    
+	    ConflictException e5 = assertThrows(ConflictException.class, () -> a4.checkConflict(a3));
+	    assertSame(a3, e5.getConflictingActivity());
+	    assertEquals("THF", e5.getOverlappingDays());
+	    assertEquals(1445, e5.getOverlapStartTime());
+	    assertEquals(1445, e5.getOverlapEndTime());
+	    
+	}
+	
+	/**
+	 * Test method for checkConflict in the Activity class with arranged courses,
+	 * weekend events, and activities that only touch at their end points
+	 */
+	@Test
+	public void testCheckConflictEdgeCases() {
+		
+	    Activity arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+	    Activity weekday = new Course("CSC 226", "Discrete Mathematics for Computer Scientists", "001", 3, "tmbarnes", "MWF", 935, 1025);
+	    Activity saturday = new Event("Exercise", "SU", 935, 1025, "Weekend only");
+	    Activity friday = new Event("Lunch", "FS", 1025, 1100, "Touches the end of class");
+	    
+	    assertDoesNotThrow(() -> arranged.checkConflict(weekday));
+	    assertDoesNotThrow(() -> weekday.checkConflict(arranged));
+	    assertDoesNotThrow(() -> arranged.checkConflict(arranged));
+	    assertDoesNotThrow(() -> saturday.checkConflict(weekday));
+	    assertDoesNotThrow(() -> weekday.checkConflict(saturday));
+	    
+	    assertThrows(ConflictException.class, () -> weekday.checkConflict(friday));
+	    assertThrows(ConflictException.class, () -> friday.checkConflict(weekday));
+	    assertThrows(ConflictException.class, () -> saturday.checkConflict(friday));
+	    
+	    // Changing the meeting days must update the days used for conflicts
+	    weekday.setMeetingDaysAndTime("TH", 935, 1025);
+	    assertDoesNotThrow(() -> weekday.checkConflict(friday));
+	}
+	
+	/**
+	 * Test method for conflictsWith in the Activity class
+	 */
+	@Test
+	public void testConflictsWith() {
+		
+	    Activity a1 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+	    Activity a2 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+	    Activity a3 = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "M", 1445, 1530);
+	    Activity a4 = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+	    
+	    assertFalse(a1.conflictsWith(a2));
+	    assertFalse(a2.conflictsWith(a1));
+	    assertTrue(a1.conflictsWith(a3));
+	    assertTrue(a3.conflictsWith(a1));
+	    assertFalse(a1.conflictsWith(a4));
+	    assertFalse(a4.conflictsWith(a1));
+	}
+
+	/**
+	 * Test method for the minute and meeting accessors in the Activity class
+	 */
+	@Test
+	public void testMeetings() {
+		
+	    Activity course = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "HT", 1330, 1445);
+	    assertEquals(1330, course.getStartTime());
+	    assertEquals(1445, course.getEndTime());
+	    assertEquals(13 * 60 + 30, course.getStartMinutes());
+	    assertEquals(14 * 60 + 45, course.getEndMinutes());
+	    assertEquals(0b1010, course.getMeetingDaysMask());
+	    
+	    // Meetings are in order of day, whatever order the days are given in
+	    assertEquals(2, course.getMeetingCount());
+	    assertEquals(Activity.MINUTES_PER_DAY + 810, course.getMeetingStart(0));
+	    assertEquals(Activity.MINUTES_PER_DAY + 885, course.getMeetingEnd(0));
+	    assertEquals(3 * Activity.MINUTES_PER_DAY + 810, course.getMeetingStart(1));
+	    assertEquals(3 * Activity.MINUTES_PER_DAY + 885, course.getMeetingEnd(1));
+	    
+	    Activity event = new Event("Exercise", "U", 0, 2359, "");
+	    assertEquals(7 * Activity.MINUTES_PER_DAY - 1, event.getMeetingEnd(0));
+	    
+	    Activity arranged = new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A");
+	    assertEquals(0, arranged.getMeetingDaysMask());
+	    assertEquals(0, arranged.getMeetingCount());
+	    
+	    // Changing the meeting days and times must update the meetings
+	    course.setMeetingDaysAndTime("F", 800, 915);
+	    assertEquals(1, course.getMeetingCount());
+	    assertEquals(4 * Activity.MINUTES_PER_DAY + 480, course.getMeetingStart(0));
+	    assertEquals(915, course.getEndTime());
+	    
+	    assertEquals(1439, Activity.toMinutes(2359));
+	    assertEquals(2359, Activity.toMilitaryTime(1439));
 	}
 
 }
@@ -34,4 +34,26 @@ class ConflictExceptionTest {
 	    assertEquals("Schedule conflict.", ce.getMessage());
 	}
 
+	/**
+	 * Test method for the lightweight constructor of ConflictException
+	 */
+	@Test
+	void testConflictExceptionDetails() {
+	    Activity a = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445);
+	    ConflictException ce = new ConflictException(a, "W", 1400, 1445);
+	    assertEquals("Schedule conflict.", ce.getMessage());
+	    assertSame(a, ce.getConflictingActivity());
+	    assertEquals("W", ce.getOverlappingDays());
+	    assertEquals(1400, ce.getOverlapStartTime());
+	    assertEquals(1445, ce.getOverlapEndTime());
+	    assertEquals(0, ce.getStackTrace().length);
+	    
+	    ConflictException plain = new ConflictException();
+	    assertNull(plain.getConflictingActivity());
+	    assertNull(plain.getOverlappingDays());
+	    assertEquals(-1, plain.getOverlapStartTime());
+	    assertEquals(-1, plain.getOverlapEndTime());
+	    assertTrue(plain.getStackTrace().length > 0);
+	}
+
 }
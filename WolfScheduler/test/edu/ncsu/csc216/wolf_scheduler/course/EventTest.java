@@ -163,6 +163,24 @@ public class EventTest {
 		assertEquals(EVENT_DETAILS, actualLongDisplay[6]);
 	}
 
+	/**
+	 * Test that Event.getShortDisplay() and getLongDisplay() are cached until a
+	 * setter changes the event.
+	 */
+	@Test
+	public void testDisplayCache() {
+		Event event = new Event(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertSame(event.getShortDisplay(), event.getShortDisplay());
+		assertSame(event.getLongDisplay(), event.getLongDisplay());
+		assertThrows(UnsupportedOperationException.class, () -> event.getLongDisplay().set(6, "Weights"));
+		
+		event.setEventDetails("Weights");
+		assertEquals("Weights", event.getLongDisplay().get(6));
+		event.setMeetingDaysAndTime("SU", 1000, 1130);
+		assertEquals("SU 10:00AM-11:30AM", event.getShortDisplay().get(3));
+		assertEquals("SU 10:00AM-11:30AM", event.getLongDisplay().get(5));
+	}
+
 	/**
 	 * Test.Event.setEventDetails().
 	 */
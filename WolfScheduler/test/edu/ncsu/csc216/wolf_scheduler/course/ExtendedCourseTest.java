@@ -2,6 +2,8 @@ package edu.ncsu.csc216.wolf_scheduler.course;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 
 /**
@@ -75,5 +77,32 @@ public class ExtendedCourseTest {
 		assertEquals("", actualLongDisplay[6]);
 	}
 
-}
+	/**
+	 * Tests that Course.getShortDisplay() and getLongDisplay() are cached until a
+	 * setter changes the course, and cannot be modified.
+	 */
+	@Test
+	public void testDisplayCache() {
+		Course c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
+		assertSame(c.getShortDisplay(), c.getShortDisplay());
+		assertSame(c.getLongDisplay(), c.getLongDisplay());
+		assertSame(c.getMeetingString(), c.getMeetingString());
+		assertEquals(Arrays.asList(c.getShortDisplayArray()), c.getShortDisplay());
+		assertThrows(UnsupportedOperationException.class, () -> c.getShortDisplay().set(0, "CSC 116"));
+		
+		c.setSection("002");
+		assertEquals("002", c.getShortDisplay().get(1));
+		c.setTitle("Intro to Programming");
+		assertEquals("Intro to Programming", c.getShortDisplay().get(2));
+		assertEquals("Intro to Programming", c.getLongDisplay().get(2));
+		c.setCredits(4);
+		c.setInstructorId("jdyoung2");
+		assertEquals("4", c.getLongDisplay().get(3));
+		assertEquals("jdyoung2", c.getLongDisplay().get(4));
+		c.setMeetingDaysAndTime("TH", 900, 1015);
+		assertEquals("TH 9:00AM-10:15AM", c.getMeetingString());
+		assertEquals("TH 9:00AM-10:15AM", c.getShortDisplay().get(3));
+		assertEquals("TH 9:00AM-10:15AM", c.getLongDisplay().get(5));
+	}
 
+}
@@ -1,12 +1,22 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Stream;
 
 import org.junit.Test;
 
@@ -60,6 +70,135 @@ public class ActivityRecordIOTest {
 		checkFiles("test-files/expected_activity_records.txt", "test-files/actual_activity_records.txt");
 	}
 
+	/**
+	 * Tests writeSchedules() with several schedules, including an empty one and one
+	 * too large for a single batch of records.
+	 * @throws IOException if a file cannot be written or read
+	 */
+	@Test
+	public void testWriteSchedules() throws IOException {
+		ArrayList<Activity> courses = new ArrayList<Activity>();
+		courses.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		courses.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		ArrayList<Activity> events = new ArrayList<Activity>();
+		for (int i = 0; i < 1000; i++) {
+			events.add(new Event("Event " + i, "SU", 800, 900, "Details of event " + i));
+		}
+		
+		LinkedHashMap<String, List<Activity>> schedules = new LinkedHashMap<String, List<Activity>>();
+		File[] files = new File[3];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = File.createTempFile("schedule", ".txt");
+			files[i].deleteOnExit();
+		}
+		schedules.put(files[0].getPath(), courses);
+		schedules.put(files[1].getPath(), new ArrayList<Activity>());
+		schedules.put(files[2].getPath(), events);
+		ActivityRecordIO.writeSchedules(schedules, StandardCharsets.UTF_8);
+		
+		checkFiles("test-files/expected_course_records.txt", files[0].getPath());
+		assertEquals(0, files[1].length());
+		List<String> lines = Files.readAllLines(files[2].toPath());
+		assertEquals(1000, lines.size());
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(events.get(i).toString(), lines.get(i));
+		}
+	}
+	
+	/**
+	 * Tests writeActivityRecords() with a charset, including characters it cannot encode.
+	 * @throws IOException if the file cannot be written or read
+	 */
+	@Test
+	public void testWriteActivityRecordsWithCharset() throws IOException {
+		List<Activity> activities = Arrays.asList(new Event("Caf\u00e9", "S", 800, 900, "Coffee \u2615"));
+		File file = File.createTempFile("schedule", ".txt");
+		file.deleteOnExit();
+		
+		ActivityRecordIO.writeActivityRecords(file.getPath(), activities, StandardCharsets.UTF_8);
+		assertEquals("Caf\u00e9,S,800,900,Coffee \u2615", Files.readAllLines(file.toPath(), StandardCharsets.UTF_8).get(0));
+		
+		ActivityRecordIO.writeActivityRecords(file.getPath(), activities, StandardCharsets.ISO_8859_1);
+		assertEquals("Caf\u00e9,S,800,900,Coffee ?", Files.readAllLines(file.toPath(), StandardCharsets.ISO_8859_1).get(0));
+	}
+
+	/**
+	 * Tests writeActivityRecordsAtomically(), including replacing a file, a failed write
+	 * leaving the old file in place, and concurrent writes to the same file.
+	 * @throws Exception if a file cannot be written or read, or a thread is interrupted
+	 */
+	@Test
+	public void testWriteActivityRecordsAtomically() throws Exception {
+		Path directory = Files.createTempDirectory("schedules");
+		directory.toFile().deleteOnExit();
+		File file = directory.resolve("schedule.txt").toFile();
+		file.deleteOnExit();
+		ArrayList<Activity> activities = new ArrayList<Activity>();
+		activities.add(new Course("CSC 116", "Intro to Programming - Java", "003", 3, "spbalik", "MW", 1250, 1440));
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "MW", 1330, 1445));
+		activities.add(new Course("CSC 216", "Software Development Fundamentals", "601", 3, "jctetter", "A"));
+		
+		ActivityRecordIO.writeActivityRecordsAtomically(file.getPath(), activities, StandardCharsets.UTF_8);
+		checkFiles("test-files/expected_course_records.txt", file.getPath());
+		ActivityRecordIO.writeActivityRecordsAtomically(file.getPath(), activities.subList(0, 1), StandardCharsets.UTF_8);
+		assertEquals(Arrays.asList(activities.get(0).toString()), Files.readAllLines(file.toPath()));
+		
+		//A write that fails part way leaves the old file and no temporary file
+		List<Activity> failing = new ArrayList<Activity>(activities);
+		failing.add(null);
+		try {
+			ActivityRecordIO.writeActivityRecordsAtomically(file.getPath(), failing, StandardCharsets.UTF_8);
+			fail();
+		} catch (NullPointerException e) {
+			assertEquals(Arrays.asList(activities.get(0).toString()), Files.readAllLines(file.toPath()));
+		}
+		try {
+			ActivityRecordIO.writeActivityRecordsAtomically(directory.resolve("missing/schedule.txt").toString(),
+					activities, StandardCharsets.UTF_8);
+			fail();
+		} catch (IOException e) {
+			assertFalse(Files.exists(directory.resolve("missing")));
+		}
+		
+		//Concurrent writes leave one complete schedule
+		List<Activity> events = new ArrayList<Activity>();
+		for (int i = 0; i < 2000; i++) {
+			events.add(new Event("Event " + i, "SU", 800, 900, "Details of event " + i));
+		}
+		Thread[] threads = new Thread[4];
+		IOException[] failures = new IOException[threads.length];
+		for (int t = 0; t < threads.length; t++) {
+			List<Activity> schedule = t % 2 == 0 ? activities : events;
+			int thread = t;
+			threads[t] = new Thread(() -> {
+				try {
+					for (int i = 0; i < 10; i++) {
+						ActivityRecordIO.writeActivityRecordsAtomically(file.getPath(), schedule, StandardCharsets.UTF_8);
+					}
+				} catch (IOException e) {
+					failures[thread] = e;
+				}
+			});
+			threads[t].start();
+		}
+		for (Thread thread : threads) {
+			thread.join();
+		}
+		for (IOException failure : failures) {
+			assertNull(failure);
+		}
+		List<String> lines = Files.readAllLines(file.toPath());
+		assertTrue(lines.size() == activities.size() || lines.size() == events.size());
+		List<Activity> written = lines.size() == activities.size() ? activities : events;
+		for (int i = 0; i < lines.size(); i++) {
+			assertEquals(written.get(i).toString(), lines.get(i));
+		}
+		try (Stream<Path> files = Files.list(directory)) {
+			assertEquals(1, files.count());
+		}
+	}
+
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output
@@ -1,16 +1,28 @@
 package edu.ncsu.csc216.wolf_scheduler.io;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.junit.Before;
 import org.junit.jupiter.api.Test;
@@ -108,6 +120,227 @@ public class CourseRecordIOTest {
 		}
 	}
 	
+	/**
+	 * Tests readCourseRecords() with a large catalog containing duplicates.
+	 * The first record for each name and section must be kept, and loading
+	 * must finish within the time budget.
+	 */
+	@Test
+	public void testReadLargeCourseRecords() throws IOException {
+		Path largeFile = Files.createTempFile("large_course_records", ".txt");
+		try {
+			// 900 course names with 120 sections each, every tenth record followed by a duplicate
+			int records = 0;
+			try (PrintStream out = new PrintStream(largeFile.toFile())) {
+				for (int number = 100; number < 1000; number++) {
+					for (int section = 1; section <= 120; section++) {
+						String prefix = "CSC " + number + ",Large Course," + String.format("%03d", section) + ",3,";
+						out.println(prefix + "first,MW,800,915");
+						records++;
+						if (section % 10 == 0) {
+							out.println(prefix + "second,TH,800,915");
+						}
+					}
+				}
+			}
+			final int expected = records;
+			assertTimeout(Duration.ofSeconds(10), () -> {
+				ArrayList<Course> courses = CourseRecordIO.readCourseRecords(largeFile.toString());
+				assertEquals(expected, courses.size());
+				assertEquals("CSC 100,Large Course,010,3,first,MW,800,915", courses.get(9).toString());
+				assertEquals("CSC 999,Large Course,120,3,first,MW,800,915", courses.get(expected - 1).toString());
+			});
+		} finally {
+			Files.deleteIfExists(largeFile);
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecordsInParallel() returns the same courses in the same order
+	 * as readCourseRecords(), including when duplicates are in different chunks.
+	 */
+	@Test
+	public void testReadCourseRecordsInParallel() throws IOException {
+		assertEquals(CourseRecordIO.readCourseRecords(validTestFile), CourseRecordIO.readCourseRecordsInParallel(validTestFile));
+		assertEquals(0, CourseRecordIO.readCourseRecordsInParallel(invalidTestFile).size());
+		
+		Path largeFile = Files.createTempFile("parallel_course_records", ".txt");
+		try {
+			// Repeat every name and section with a different instructor, mixing line separators
+			String[] separators = {"\n", "\r\n", "\r"};
+			try (PrintStream out = new PrintStream(largeFile.toFile())) {
+				for (int copy = 0; copy < 3; copy++) {
+					for (int number = 100; number < 1000; number++) {
+						for (int section = 1; section <= 20; section++) {
+							out.print("CSC " + number + ",Large Course," + String.format("%03d", section) + ",3,instr" + copy
+									+ (section % 7 == 0 ? ",A" : ",MW,800,915") + separators[(number + section) % 3]);
+						}
+						out.print("CSC " + number + ",Invalid Course,001,x,instr,MW,800,915\n");
+					}
+				}
+			}
+			ArrayList<Course> sequential = CourseRecordIO.readCourseRecords(largeFile.toString());
+			ArrayList<Course> parallel = CourseRecordIO.readCourseRecordsInParallel(largeFile.toString());
+			assertEquals(18000, sequential.size());
+			assertEquals(sequential, parallel);
+			assertEquals("instr0", parallel.get(parallel.size() - 1).getInstructorId());
+			
+			// With no line feeds the file cannot be split, but is still read completely
+			try (PrintStream out = new PrintStream(largeFile.toFile())) {
+				for (int number = 100; number < 1000; number++) {
+					for (int section = 1; section <= 5; section++) {
+						out.print("CSC " + number + ",Large Course," + String.format("%03d", section) + ",3,instr,MW,800,915\r");
+					}
+				}
+			}
+			assertEquals(4500, CourseRecordIO.readCourseRecordsInParallel(largeFile.toString()).size());
+			assertEquals(CourseRecordIO.readCourseRecords(largeFile.toString()),
+					CourseRecordIO.readCourseRecordsInParallel(largeFile.toString()));
+		} finally {
+			Files.deleteIfExists(largeFile);
+		}
+	}
+	
+	/**
+	 * Tests readCourseRecordsMapped() with the test files and with UTF-8 text that uses
+	 * every kind of line separator.
+	 */
+	@Test
+	public void testReadCourseRecordsMapped() throws IOException {
+		assertEquals(CourseRecordIO.readCourseRecords(validTestFile), CourseRecordIO.readCourseRecordsMapped(validTestFile));
+		assertEquals(0, CourseRecordIO.readCourseRecordsMapped(invalidTestFile).size());
+		
+		Path utf8File = Files.createTempFile("mapped_course_records", ".txt");
+		try {
+			String contents = "CSC 116,Caf\u00e9 Programming,001,3,jdyoung2,MW,910,1100\r\n"
+					+ "CSC 116,Duplicate,001,3,spbalik,MW,1120,1310\u0085"
+					+ "CSC 216,Software Development Fundamentals,001,\u0663,sesmith5,TH,1330,1445\u2028"
+					+ "CSC 216,Invalid Course,002,3,sesmith5,TH,1330\u2029"
+					+ "CSC 217,Software Development Fundamentals Lab,601,1,sesmith5,A\r"
+					+ "CSC 226,Discrete Mathematics for Computer Scientists,001,3,tmbarnes,MWF,935,1025";
+			Files.write(utf8File, contents.getBytes(StandardCharsets.UTF_8));
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecordsMapped(utf8File.toString());
+			assertEquals(4, courses.size());
+			assertEquals("CSC 116,Caf\u00e9 Programming,001,3,jdyoung2,MW,910,1100", courses.get(0).toString());
+			assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445", courses.get(1).toString());
+			assertEquals("CSC 217,Software Development Fundamentals Lab,601,1,sesmith5,A", courses.get(2).toString());
+			assertEquals("CSC 226,Discrete Mathematics for Computer Scientists,001,3,tmbarnes,MWF,935,1025", courses.get(3).toString());
+		} finally {
+			Files.deleteIfExists(utf8File);
+		}
+	}
+	
+	/**
+	 * Tests streamCourseRecords() sequentially and in parallel.
+	 */
+	@Test
+	public void testStreamCourseRecords() throws IOException {
+		// The duplicate of CSC 116 002 on line 4 is kept by the stream
+		try (Stream<Course> courses = CourseRecordIO.streamCourseRecords(validTestFile)) {
+			List<Course> list = courses.collect(Collectors.toList());
+			assertEquals(14, list.size());
+			assertEquals("CSC 116,Intro to Programming - Java,002,3,jtking,TH,910,1100", list.get(3).toString());
+			assertEquals(validCourse13, list.get(13).toString());
+		}
+		try (Stream<Course> courses = CourseRecordIO.streamCourseRecords(invalidTestFile)) {
+			assertEquals(0, courses.count());
+		}
+		
+		Path largeFile = Files.createTempFile("stream_course_records", ".txt");
+		try {
+			String[] separators = {"\n", "\r\n", "\r"};
+			try (PrintStream out = new PrintStream(largeFile.toFile())) {
+				for (int number = 100; number < 1000; number++) {
+					for (int section = 1; section <= 100; section++) {
+						out.print("CSC " + number + ",Large Course," + String.format("%03d", section) + ",3,instr"
+								+ (section % 7 == 0 ? ",A" : ",MW,800,915") + separators[(number + section) % 3]);
+					}
+					out.print("CSC " + number + ",Invalid Course,001,x,instr,MW,800,915\n");
+				}
+			}
+			List<Course> sequential;
+			try (Stream<Course> courses = CourseRecordIO.streamCourseRecords(largeFile.toString())) {
+				sequential = courses.collect(Collectors.toList());
+			}
+			List<Course> parallel;
+			try (Stream<Course> courses = CourseRecordIO.streamCourseRecords(largeFile.toString())) {
+				parallel = courses.parallel().collect(Collectors.toList());
+			}
+			assertEquals(90000, sequential.size());
+			assertEquals(sequential, parallel);
+			assertEquals(CourseRecordIO.readCourseRecords(largeFile.toString()), sequential);
+		} finally {
+			Files.deleteIfExists(largeFile);
+		}
+	}
+	
+	/**
+	 * Tests writeCourseSnapshot(), readCourseSnapshot(), and readCourseRecordsWithSnapshot().
+	 */
+	@Test
+	public void testCourseSnapshot() throws IOException {
+		Path directory = Files.createTempDirectory("course_snapshot");
+		Path records = directory.resolve("course_records.txt");
+		Path snapshot = Paths.get(CourseRecordIO.getSnapshotFileName(records.toString()));
+		try {
+			Files.copy(Paths.get(validTestFile), records);
+			ArrayList<Course> courses = CourseRecordIO.readCourseRecords(records.toString());
+			
+			// Write and read back a snapshot of the catalog
+			CourseRecordIO.writeCourseSnapshot(snapshot.toString(), courses);
+			ArrayList<Course> snapshotCourses = CourseRecordIO.readCourseSnapshot(snapshot.toString());
+			assertEquals(courses, snapshotCourses);
+			assertSame(snapshotCourses.get(0).getTitle(), snapshotCourses.get(1).getTitle());
+			
+			// The snapshot is only used when it is newer than the course records
+			ArrayList<Course> firstCourse = new ArrayList<Course>(courses.subList(0, 1));
+			CourseRecordIO.writeCourseSnapshot(snapshot.toString(), firstCourse);
+			records.toFile().setLastModified(System.currentTimeMillis() - 60000);
+			snapshot.toFile().setLastModified(System.currentTimeMillis());
+			assertEquals(firstCourse, CourseRecordIO.readCourseRecordsWithSnapshot(records.toString()));
+			snapshot.toFile().setLastModified(System.currentTimeMillis() - 120000);
+			assertEquals(courses, CourseRecordIO.readCourseRecordsWithSnapshot(records.toString()));
+			
+			// An invalid snapshot is ignored
+			Files.write(snapshot, new byte[] {1, 2, 3});
+			snapshot.toFile().setLastModified(System.currentTimeMillis());
+			assertThrows(IOException.class, () -> CourseRecordIO.readCourseSnapshot(snapshot.toString()));
+			assertEquals(courses, CourseRecordIO.readCourseRecordsWithSnapshot(records.toString()));
+			
+			// Counts too large for the rest of the snapshot are invalid, not allocated
+			int magic = ByteBuffer.wrap(snapshotBytes(courses, snapshot)).getInt();
+			Files.write(snapshot, ByteBuffer.allocate(8).putInt(magic).putInt(0x7ffffff0).array());
+			snapshot.toFile().setLastModified(System.currentTimeMillis());
+			assertThrows(IOException.class, () -> CourseRecordIO.readCourseSnapshot(snapshot.toString()));
+			assertEquals(courses, CourseRecordIO.readCourseRecordsWithSnapshot(records.toString()));
+			Files.write(snapshot, ByteBuffer.allocate(12).putInt(magic).putInt(0).putInt(0x7ffffff0).array());
+			assertThrows(IOException.class, () -> CourseRecordIO.readCourseSnapshot(snapshot.toString()));
+			
+			// Bytes left over after the last course are invalid
+			byte[] valid = snapshotBytes(courses, snapshot);
+			Files.write(snapshot, Arrays.copyOf(valid, valid.length + 1));
+			assertThrows(IOException.class, () -> CourseRecordIO.readCourseSnapshot(snapshot.toString()));
+			
+			assertThrows(FileNotFoundException.class, () -> CourseRecordIO.readCourseRecordsWithSnapshot(directory.resolve("missing.txt").toString()));
+		} finally {
+			Files.deleteIfExists(snapshot);
+			Files.deleteIfExists(records);
+			Files.deleteIfExists(directory);
+		}
+	}
+	
+	/**
+	 * Writes a snapshot of the courses and returns its bytes.
+	 * @param courses courses to write
+	 * @param snapshot file to write the snapshot to
+	 * @return the bytes of the snapshot
+	 * @throws IOException if the snapshot cannot be written or read
+	 */
+	private static byte[] snapshotBytes(List<Course> courses, Path snapshot) throws IOException {
+		CourseRecordIO.writeCourseSnapshot(snapshot.toString(), courses);
+		return Files.readAllBytes(snapshot);
+	}
+	
 	/**
 	 * Tests writeCourseRecords()
 	 */
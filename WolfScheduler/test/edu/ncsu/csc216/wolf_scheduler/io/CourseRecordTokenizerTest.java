@@ -0,0 +1,95 @@
+package edu.ncsu.csc216.wolf_scheduler.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.InputMismatchException;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests CourseRecordTokenizer.
+ * @author Michael Richardson
+ */
+public class CourseRecordTokenizerTest {
+
+	/** Invalid course records */
+	private final String invalidTestFile = "test-files/invalid_course_records.txt";
+
+	/**
+	 * Tests readCourse() with valid course lines, including lines a Scanner accepts
+	 * even though they look unusual.
+	 */
+	@Test
+	public void testReadCourseValid() {
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445",
+				readCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445"));
+		assertEquals("CSC 216,Software Development Fundamentals,601,3,jctetter,A",
+				readCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A"));
+		// A single trailing or leading delimiter does not start a token
+		assertEquals("CSC 216,Software Development Fundamentals,601,3,jctetter,A",
+				readCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A,"));
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445",
+				readCourse(",CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,1445,"));
+		// Signs and leading zeros are allowed on integers
+		assertEquals("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,830,1445",
+				readCourse("CSC 216,Software Development Fundamentals,001,+3,sesmith5,TH,0830,1445"));
+	}
+
+	/**
+	 * Tests readCourse() with invalid course lines.
+	 */
+	@Test
+	public void testReadCourseInvalid() throws IOException {
+		List<String> lines = Files.readAllLines(Paths.get(invalidTestFile));
+		assertFalse(lines.isEmpty());
+		for (String line : lines) {
+			assertThrows(IllegalArgumentException.class, () -> readCourse(line), line);
+		}
+		assertThrows(IllegalArgumentException.class, () -> readCourse(""));
+		assertThrows(IllegalArgumentException.class, () -> readCourse(","));
+		assertThrows(IllegalArgumentException.class, () -> readCourse("CSC 216,Software Development Fundamentals,601,3,jctetter,A,,"));
+		assertThrows(IllegalArgumentException.class, () -> readCourse("CSC 216,Software Development Fundamentals,001, 3,sesmith5,TH,1330,1445"));
+		assertThrows(IllegalArgumentException.class, () -> readCourse("CSC 216,Software Development Fundamentals,001,3,sesmith5,TH,1330,99999999999"));
+		assertThrows(IllegalArgumentException.class, () -> readCourse("CSC 216,Software Development Fundamentals,001,+,sesmith5,TH,1330,1445"));
+	}
+
+	/**
+	 * Tests next(), nextInt(), and hasNext() on a line held in the middle of a buffer.
+	 */
+	@Test
+	public void testTokens() {
+		char[] buffer = "xx-12,,a,2147483647,-2147483648,2147483648,,xx".toCharArray();
+		CourseRecordTokenizer tokenizer = new CourseRecordTokenizer();
+		tokenizer.reset(buffer, 2, buffer.length - 2);
+		assertEquals(-12, tokenizer.nextInt());
+		assertEquals("", tokenizer.next());
+		assertEquals("a", tokenizer.next());
+		assertEquals(Integer.MAX_VALUE, tokenizer.nextInt());
+		assertEquals(Integer.MIN_VALUE, tokenizer.nextInt());
+		assertThrows(InputMismatchException.class, () -> tokenizer.nextInt());
+		assertEquals("2147483648", tokenizer.next());
+		assertTrue(tokenizer.hasNext());
+		assertEquals("", tokenizer.next());
+		assertFalse(tokenizer.hasNext());
+		assertThrows(NoSuchElementException.class, () -> tokenizer.next());
+	}
+
+	/**
+	 * Reads a course from a line surrounded by other characters in the buffer.
+	 * @param line the line to read
+	 * @return the course as a string
+	 */
+	private String readCourse(String line) {
+		char[] buffer = ("##" + line + "##").toCharArray();
+		return new CourseRecordTokenizer().readCourse(buffer, 2, buffer.length - 2).toString();
+	}
+
+}
@@ -0,0 +1,139 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests CatalogConflictGraph.
+ * @author Michael Richardson
+ */
+public class CatalogConflictGraphTest {
+
+	/** Meeting days used for random sections */
+	private static final String[] MEETING_DAYS = {"MW", "TH", "MWF", "M", "F", "MTWHF", "A"};
+
+	/**
+	 * Tests that the graph matches comparing every pair of sections, for catalogs large
+	 * enough to be built by several tasks.
+	 */
+	@Test
+	public void testMatchesEveryPair() {
+		Random random = new Random(216);
+		for (int size : new int[] {1, 2, 50, 3000}) {
+			List<Course> catalog = randomCatalog(random, size);
+			CatalogConflictGraph graph = new CatalogConflictGraph(catalog);
+			assertEquals(size, graph.size());
+			for (int i = 0; i < size; i++) {
+				ArrayList<Integer> expected = new ArrayList<Integer>();
+				for (int j = 0; j < size; j++) {
+					boolean conflict = i != j && catalog.get(i).conflictsWith(catalog.get(j));
+					assertEquals(conflict, graph.conflicts(i, j));
+					if (conflict) {
+						expected.add(j);
+					}
+				}
+				int[] actual = graph.getConflicts(i);
+				assertEquals(expected.size(), graph.getDegree(i));
+				assertEquals(expected.size(), actual.length);
+				int[] sorted = actual.clone();
+				Arrays.sort(sorted);
+				assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), sorted);
+				// The conflicts are in order of start time
+				for (int k = 1; k < actual.length; k++) {
+					assertFalse(catalog.get(actual[k - 1]).getStartTime() > catalog.get(actual[k]).getStartTime());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Tests finding the sections that conflict with activities outside of the catalog.
+	 */
+	@Test
+	public void testGetConflictsOfActivity() {
+		Random random = new Random(116);
+		List<Course> catalog = randomCatalog(random, 2000);
+		CatalogConflictGraph graph = new CatalogConflictGraph(catalog);
+		String[] eventDays = {"MW", "TH", "MTWHF", "SU", "U", "F"};
+		for (int i = 0; i < 200; i++) {
+			int start = random.nextInt(22) * 100 + random.nextInt(30);
+			Event event = new Event("Event", eventDays[random.nextInt(eventDays.length)], start, start + 100 + random.nextInt(30), "");
+			ArrayList<Integer> expected = new ArrayList<Integer>();
+			for (int j = 0; j < catalog.size(); j++) {
+				if (event.conflictsWith(catalog.get(j))) {
+					expected.add(j);
+				}
+			}
+			int[] actual = graph.getConflicts(event);
+			Arrays.sort(actual);
+			assertArrayEquals(expected.stream().mapToInt(Integer::intValue).toArray(), actual);
+		}
+
+		// A section of the catalog overlaps itself
+		assertArrayEquals(new int[] {0, 1}, new CatalogConflictGraph(Arrays.asList(
+				new Course("CSC 116", "Title", "001", 3, "id", "MW", 900, 1000),
+				new Course("CSC 116", "Title", "002", 3, "id", "W", 1000, 1030))).getConflicts(
+				new Course("CSC 116", "Title", "001", 3, "id", "MW", 900, 1000)));
+	}
+
+	/**
+	 * Tests sections that only touch at the end of one and the start of another, including
+	 * at the edges of the time slot buckets.
+	 */
+	@Test
+	public void testTouchingSections() {
+		List<Course> catalog = Arrays.asList(
+				new Course("CSC 116", "Title", "001", 3, "id", "MW", 900, 1000),
+				new Course("CSC 116", "Title", "002", 3, "id", "W", 1000, 1030),
+				new Course("CSC 116", "Title", "003", 3, "id", "MW", 1001, 1029),
+				new Course("CSC 116", "Title", "004", 3, "id", "H", 900, 1000),
+				new Course("CSC 116", "Title", "005", 3, "id", "A"),
+				new Course("CSC 116", "Title", "006", 3, "id", "F", 0, 2359));
+		CatalogConflictGraph graph = new CatalogConflictGraph(catalog);
+		assertArrayEquals(new int[] {1}, graph.getConflicts(0));
+		assertArrayEquals(new int[] {0, 2}, graph.getConflicts(1));
+		assertArrayEquals(new int[] {1}, graph.getConflicts(2));
+		assertArrayEquals(new int[0], graph.getConflicts(3));
+		assertArrayEquals(new int[0], graph.getConflicts(4));
+		assertArrayEquals(new int[0], graph.getConflicts(5));
+		assertFalse(graph.conflicts(4, 4));
+		assertEquals(0, new CatalogConflictGraph(new ArrayList<Course>()).size());
+	}
+
+	/**
+	 * Returns a random catalog of sections, some arranged.
+	 * @param random source of random values
+	 * @param size   number of sections
+	 * @return the catalog
+	 */
+	private static List<Course> randomCatalog(Random random, int size) {
+		List<Course> catalog = new ArrayList<Course>();
+		for (int i = 0; i < size; i++) {
+			String section = String.format("%03d", i % 1000);
+			String days = MEETING_DAYS[random.nextInt(MEETING_DAYS.length)];
+			if ("A".equals(days)) {
+				catalog.add(new Course("CSC " + (100 + i / 1000), "Title", section, 3, "id", days));
+			} else {
+				int start = 700 + random.nextInt(13) * 100 + random.nextInt(60);
+				int end = Math.min(2359, start + 100 * random.nextInt(3) + 30);
+				if (end % 100 >= 60) {
+					end += 40;
+				}
+				catalog.add(new Course("CSC " + (100 + i / 1000), "Title", section, 3, "id", days, start, Math.min(2359, end)));
+			}
+		}
+		return catalog;
+	}
+
+}
@@ -0,0 +1,271 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Activity;
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
+
+/**
+ * Tests ScheduleGenerator.
+ * @author Michael Richardson
+ */
+public class ScheduleGeneratorTest {
+
+	/** Meeting days used for random sections */
+	private static final String[] MEETING_DAYS = {"MW", "TH", "MWF", "M", "F", "A"};
+
+	/**
+	 * Tests that the generator finds exactly the conflict-free schedules found by
+	 * checking every combination, with and without fixed events.
+	 */
+	@Test
+	public void testMatchesEveryCombination() {
+		Random random = new Random(216);
+		for (int trial = 0; trial < 50; trial++) {
+			List<ArrayList<Course>> sections = randomSections(random, 1 + random.nextInt(4), 1 + random.nextInt(8));
+			List<Event> events = new ArrayList<Event>();
+			if (random.nextBoolean()) {
+				events.add(new Event("Work", "TH", 800 + random.nextInt(4) * 100, 1200, ""));
+			}
+			List<ArrayList<Course>> expected = new ArrayList<ArrayList<Course>>();
+			everyCombination(sections, events, 0, new ArrayList<Course>(), expected);
+
+			List<ArrayList<Course>> actual = new ScheduleGenerator(sections, events).stream().collect(Collectors.toList());
+			assertEquals(expected.size(), actual.size());
+			assertEquals(toStrings(expected), toStrings(actual));
+		}
+	}
+
+	/**
+	 * Tests courses with more sections than fit in one bitset word.
+	 */
+	@Test
+	public void testManySections() {
+		List<ArrayList<Course>> sections = new ArrayList<ArrayList<Course>>();
+		for (int i = 0; i < 3; i++) {
+			ArrayList<Course> course = new ArrayList<Course>();
+			for (int s = 0; s < 100; s++) {
+				// Sections meet for one hour on one day, giving 50 time slots with two sections in each
+				String days = "MTWHF".substring(s % 5, s % 5 + 1);
+				int start = 800 + (s / 5) * 100 % 1000;
+				course.add(new Course("CSC " + (100 + i), "Title", String.format("%03d", s), 3, "id", days, start, start + 50));
+			}
+			sections.add(course);
+		}
+		long count = new ScheduleGenerator(sections, new ArrayList<Activity>()).stream().count();
+		List<ArrayList<Course>> expected = new ArrayList<ArrayList<Course>>();
+		everyCombination(sections, new ArrayList<Activity>(), 0, new ArrayList<Course>(), expected);
+		assertEquals(expected.size(), count);
+		assertTrue(count > 0);
+	}
+
+	/**
+	 * Tests that schedules are generated lazily and that the iterator behaves at the end.
+	 */
+	@Test
+	public void testIterator() {
+		List<ArrayList<Course>> sections = randomSections(new Random(116), 6, 12);
+		ScheduleGenerator generator = new ScheduleGenerator(sections, new ArrayList<Activity>());
+		assertEquals(1, generator.stream().limit(1).count());
+
+		Iterator<ArrayList<Course>> it = generator.iterator();
+		while (it.hasNext()) {
+			ArrayList<Course> schedule = it.next();
+			assertEquals(6, schedule.size());
+			for (int i = 0; i < schedule.size(); i++) {
+				assertTrue(sections.get(i).contains(schedule.get(i)));
+				for (int j = i + 1; j < schedule.size(); j++) {
+					assertFalse(schedule.get(i).conflictsWith(schedule.get(j)));
+				}
+			}
+		}
+		assertFalse(it.hasNext());
+		assertThrows(NoSuchElementException.class, () -> it.next());
+	}
+
+	/**
+	 * Tests generating schedules with no courses or a course with no sections.
+	 */
+	@Test
+	public void testNoSchedules() {
+		assertEquals(0, new ScheduleGenerator(new ArrayList<ArrayList<Course>>(), new ArrayList<Activity>()).stream().count());
+
+		List<ArrayList<Course>> sections = randomSections(new Random(316), 3, 4);
+		sections.add(1, new ArrayList<Course>());
+		assertEquals(0, new ScheduleGenerator(sections, new ArrayList<Activity>()).stream().count());
+
+		// An event every weekday all day leaves only the arranged sections
+		List<Event> events = Collections.singletonList(new Event("Busy", "MTWHF", 0, 2359, ""));
+		List<ArrayList<Course>> arranged = new ArrayList<ArrayList<Course>>();
+		ArrayList<Course> course = new ArrayList<Course>();
+		course.add(new Course("CSC 216", "Title", "001", 3, "id", "MW", 1330, 1445));
+		course.add(new Course("CSC 216", "Title", "601", 3, "id", "A"));
+		arranged.add(course);
+		List<ArrayList<Course>> schedules = new ScheduleGenerator(arranged, events).stream().collect(Collectors.toList());
+		assertEquals(1, schedules.size());
+		assertEquals("601", schedules.get(0).get(0).getSection());
+	}
+
+	/**
+	 * Tests generating schedules in parallel, with and without a limit or cancellation.
+	 */
+	@Test
+	public void testGenerateInParallel() {
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			Random random = new Random(230);
+			for (int trial = 0; trial < 20; trial++) {
+				List<ArrayList<Course>> sections = randomSections(random, 1 + random.nextInt(6), 1 + random.nextInt(12));
+				ScheduleGenerator generator = new ScheduleGenerator(sections, new ArrayList<Activity>());
+				List<ArrayList<Course>> expected = generator.stream().collect(Collectors.toList());
+
+				// A search that runs to the end finds the same schedules in the same order
+				assertEquals(expected, generator.generateInParallel(pool, Integer.MAX_VALUE, null));
+
+				// A limited search finds only schedules the full search finds
+				int limit = random.nextInt(10);
+				ArrayList<ArrayList<Course>> limited = generator.generateInParallel(pool, limit, null);
+				assertEquals(Math.min(limit, expected.size()), limited.size());
+				assertTrue(expected.containsAll(limited));
+			}
+
+			List<ArrayList<Course>> sections = randomSections(new Random(316), 7, 20);
+			ScheduleGenerator generator = new ScheduleGenerator(sections, new ArrayList<Activity>());
+			assertEquals(0, generator.generateInParallel(pool, Integer.MAX_VALUE, () -> true).size());
+
+			// Cancel the search after it has checked for cancellation 100 times, which it does before keeping each schedule
+			AtomicInteger checks = new AtomicInteger();
+			ArrayList<ArrayList<Course>> cancelled = generator.generateInParallel(pool, Integer.MAX_VALUE,
+					() -> checks.incrementAndGet() > 100);
+			assertTrue(cancelled.size() <= 100);
+
+			assertThrows(IllegalArgumentException.class, () -> generator.generateInParallel(pool, -1, null));
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Tests that findBest() returns the same schedules as scoring every schedule and
+	 * sorting them, for scorers with and without useful lower bounds.
+	 */
+	@Test
+	public void testFindBest() {
+		ScheduleScorer[] scorers = {
+			ScheduleScorer.fewestDays(),
+			ScheduleScorer.noClassesBefore(1000),
+			ScheduleScorer.minimumGaps(),
+			ScheduleScorer.preferredInstructor("id"),
+			ScheduleScorer.fewestDays().plus(ScheduleScorer.minimumGaps(), 0.01).plus(ScheduleScorer.noClassesBefore(900), 2)
+		};
+		Random random = new Random(226);
+		for (int trial = 0; trial < 40; trial++) {
+			List<ArrayList<Course>> sections = randomSections(random, 1 + random.nextInt(5), 1 + random.nextInt(10));
+			ScheduleGenerator generator = new ScheduleGenerator(sections, new ArrayList<Activity>());
+			for (ScheduleScorer scorer : scorers) {
+				int k = random.nextInt(6);
+				// The sort is stable, so schedules with the same score stay in stream order
+				List<ArrayList<Course>> expected = generator.stream()
+						.sorted((a, b) -> Double.compare(scorer.score(a), scorer.score(b)))
+						.limit(k).collect(Collectors.toList());
+				assertEquals(expected, generator.findBest(k, scorer));
+			}
+		}
+
+		ScheduleGenerator generator = new ScheduleGenerator(randomSections(random, 3, 3), new ArrayList<Activity>());
+		assertEquals(0, generator.findBest(0, ScheduleScorer.fewestDays()).size());
+		assertThrows(IllegalArgumentException.class, () -> generator.findBest(-1, ScheduleScorer.fewestDays()));
+		assertThrows(IllegalArgumentException.class, () -> generator.findBest(1, null));
+	}
+
+	/**
+	 * Returns random sections for the given number of courses.
+	 * @param random   source of random values
+	 * @param courses  number of courses
+	 * @param sections largest number of sections of each course
+	 * @return sections of each course
+	 */
+	private static List<ArrayList<Course>> randomSections(Random random, int courses, int sections) {
+		List<ArrayList<Course>> result = new ArrayList<ArrayList<Course>>();
+		for (int i = 0; i < courses; i++) {
+			ArrayList<Course> course = new ArrayList<Course>();
+			int count = 1 + random.nextInt(sections);
+			for (int s = 0; s < count; s++) {
+				String name = "CSC " + (100 + i);
+				String section = String.format("%03d", s);
+				String days = MEETING_DAYS[random.nextInt(MEETING_DAYS.length)];
+				if ("A".equals(days)) {
+					course.add(new Course(name, "Title", section, 3, "id", days));
+				} else {
+					int start = 800 + random.nextInt(10) * 100 + random.nextInt(2) * 30;
+					String instructor = random.nextBoolean() ? "id" : "other";
+					course.add(new Course(name, "Title", section, 3, instructor, days, start, start + 115));
+				}
+			}
+			result.add(course);
+		}
+		return result;
+	}
+
+	/**
+	 * Adds every conflict-free combination of sections to result, checking each one.
+	 * @param sections sections of each course
+	 * @param fixed    activities each schedule must fit around
+	 * @param course   course to choose a section for next
+	 * @param chosen   sections chosen so far
+	 * @param result   list of schedules found
+	 */
+	private static void everyCombination(List<ArrayList<Course>> sections, List<? extends Activity> fixed, int course,
+			ArrayList<Course> chosen, List<ArrayList<Course>> result) {
+		if (course == sections.size()) {
+			result.add(new ArrayList<Course>(chosen));
+			return;
+		}
+		for (Course c : sections.get(course)) {
+			boolean fits = true;
+			for (Activity a : fixed) {
+				fits &= !c.conflictsWith(a);
+			}
+			for (Course other : chosen) {
+				fits &= !c.conflictsWith(other);
+			}
+			if (fits) {
+				chosen.add(c);
+				everyCombination(sections, fixed, course + 1, chosen, result);
+				chosen.remove(chosen.size() - 1);
+			}
+		}
+	}
+
+	/**
+	 * Returns the sorted String forms of the schedules, so they can be compared in any order.
+	 * @param schedules schedules to convert
+	 * @return sorted list of the schedules as Strings
+	 */
+	private static List<String> toStrings(List<ArrayList<Course>> schedules) {
+		List<String> strings = new ArrayList<String>();
+		for (ArrayList<Course> s : schedules) {
+			strings.add(Arrays.toString(s.toArray()));
+		}
+		Collections.sort(strings);
+		return strings;
+	}
+
+}
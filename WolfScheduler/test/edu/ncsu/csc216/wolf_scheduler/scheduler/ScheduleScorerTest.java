@@ -0,0 +1,86 @@
+package edu.ncsu.csc216.wolf_scheduler.scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import edu.ncsu.csc216.wolf_scheduler.course.Course;
+
+/**
+ * Tests ScheduleScorer.
+ * @author Michael Richardson
+ */
+public class ScheduleScorerTest {
+
+	/** Course that meets MW from 8:30AM to 9:45AM */
+	private final Course early = new Course("CSC 316", "Data Structures and Algorithms", "001", 3, "jtking", "MW", 830, 945);
+	/** Course that meets MW from 1:30PM to 2:45PM */
+	private final Course afternoon = new Course("CSC 216", "Software Development Fundamentals", "002", 3, "ixdoming", "MW", 1330, 1445);
+	/** Course that meets TH from 1:30PM to 2:45PM */
+	private final Course tuesday = new Course("CSC 216", "Software Development Fundamentals", "001", 3, "sesmith5", "TH", 1330, 1445);
+	/** Arranged course */
+	private final Course arranged = new Course("CSC 217", "Software Development Fundamentals Lab", "601", 1, "sesmith5", "A");
+
+	/**
+	 * Tests fewestDays().
+	 */
+	@Test
+	public void testFewestDays() {
+		ScheduleScorer scorer = ScheduleScorer.fewestDays();
+		assertEquals(0, scorer.score(new ArrayList<Course>()));
+		assertEquals(0, scorer.score(Arrays.asList(arranged)));
+		assertEquals(2, scorer.score(Arrays.asList(early, afternoon, arranged)));
+		assertEquals(4, scorer.score(Arrays.asList(early, tuesday)));
+		assertEquals(2, scorer.lowerBound(Arrays.asList(early)));
+	}
+
+	/**
+	 * Tests noClassesBefore().
+	 */
+	@Test
+	public void testNoClassesBefore() {
+		assertEquals(1, ScheduleScorer.noClassesBefore(900).score(Arrays.asList(early, afternoon, arranged)));
+		assertEquals(0, ScheduleScorer.noClassesBefore(830).score(Arrays.asList(early, afternoon, arranged)));
+		assertEquals(3, ScheduleScorer.noClassesBefore(1500).score(Arrays.asList(early, afternoon, tuesday, arranged)));
+	}
+
+	/**
+	 * Tests minimumGaps().
+	 */
+	@Test
+	public void testMinimumGaps() {
+		ScheduleScorer scorer = ScheduleScorer.minimumGaps();
+		// 9:45AM to 1:30PM on both Monday and Wednesday
+		assertEquals(450, scorer.score(Arrays.asList(afternoon, early, tuesday, arranged)));
+		assertEquals(0, scorer.score(Arrays.asList(early, tuesday)));
+		assertEquals(0, scorer.lowerBound(Arrays.asList(afternoon, early)));
+	}
+
+	/**
+	 * Tests preferredInstructor().
+	 */
+	@Test
+	public void testPreferredInstructor() {
+		ScheduleScorer scorer = ScheduleScorer.preferredInstructor("sesmith5");
+		assertEquals(0, scorer.score(Arrays.asList(tuesday, arranged)));
+		assertEquals(2, scorer.score(Arrays.asList(early, afternoon, arranged)));
+	}
+
+	/**
+	 * Tests plus().
+	 */
+	@Test
+	public void testPlus() {
+		List<Course> schedule = Arrays.asList(early, afternoon);
+		ScheduleScorer scorer = ScheduleScorer.fewestDays().plus(ScheduleScorer.minimumGaps(), 0.5);
+		assertEquals(2 + 225, scorer.score(schedule));
+		assertEquals(2, scorer.lowerBound(schedule));
+		assertThrows(IllegalArgumentException.class, () -> ScheduleScorer.fewestDays().plus(ScheduleScorer.minimumGaps(), -1));
+	}
+
+}
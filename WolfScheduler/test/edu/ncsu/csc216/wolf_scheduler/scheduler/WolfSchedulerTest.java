@@ -7,13 +7,19 @@ import java.io.IOException;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import java.util.Scanner;
+import java.util.stream.Collectors;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import edu.ncsu.csc216.wolf_scheduler.course.Activity;
 import edu.ncsu.csc216.wolf_scheduler.course.Course;
+import edu.ncsu.csc216.wolf_scheduler.course.Event;
 
 /**
  * Tests the WolfScheduler class.
@@ -103,6 +109,277 @@ public class WolfSchedulerTest {
 		//Attempt to get a course that does exist
 		Activity c = new Course(NAME, TITLE, SECTION, CREDITS, INSTRUCTOR_ID, MEETING_DAYS, START_TIME, END_TIME);
 		assertEquals(c, ws.getCourseFromCatalog("CSC 216", "001"));
+		
+		//Attempt to get a section that doesn't exist for a course that does
+		assertNull(ws.getCourseFromCatalog("CSC 216", "003"));
+		assertNull(ws.getCourseFromCatalog(null, "001"));
+	}
+	
+	/**
+	 * Test WolfScheduler.getCourseSectionsFromCatalog().
+	 */
+	@Test
+	public void testGetCourseSectionsFromCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//Attempt to get the sections of a course that doesn't exist
+		assertEquals(0, ws.getCourseSectionsFromCatalog("CSC 492").size());
+		
+		//Get the sections of a course that does exist, in catalog order
+		ArrayList<Course> sections = ws.getCourseSectionsFromCatalog(NAME);
+		assertEquals(3, sections.size());
+		assertEquals("001", sections.get(0).getSection());
+		assertEquals("002", sections.get(1).getSection());
+		assertEquals("601", sections.get(2).getSection());
+	}
+	
+	/**
+	 * Test WolfScheduler.getConflictingCoursesFromCatalog() and catalogCoursesConflict().
+	 */
+	@Test
+	public void testGetConflictingCoursesFromCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//CSC 217 202 meets Monday 10:40AM-12:30PM, so its conflicts are in order of start time
+		ArrayList<Course> conflicts = ws.getConflictingCoursesFromCatalog("CSC 217", "202");
+		assertEquals(3, conflicts.size());
+		assertEquals(ws.getCourseFromCatalog("CSC 116", "001"), conflicts.get(0));
+		assertEquals(ws.getCourseFromCatalog("CSC 116", "002"), conflicts.get(1));
+		assertEquals(ws.getCourseFromCatalog("CSC 230", "001"), conflicts.get(2));
+		
+		//Arranged and unknown courses conflict with nothing
+		assertEquals(0, ws.getConflictingCoursesFromCatalog(NAME, "601").size());
+		assertEquals(0, ws.getConflictingCoursesFromCatalog("CSC 492", "001").size());
+		
+		assertTrue(ws.catalogCoursesConflict("CSC 217", "202", "CSC 230", "001"));
+		assertTrue(ws.catalogCoursesConflict("CSC 230", "001", "CSC 217", "202"));
+		assertFalse(ws.catalogCoursesConflict("CSC 217", "202", "CSC 226", "001"));
+		assertFalse(ws.catalogCoursesConflict("CSC 217", "202", "CSC 217", "202"));
+		assertFalse(ws.catalogCoursesConflict("CSC 217", "202", "CSC 492", "001"));
+	}
+
+	/**
+	 * Test WolfScheduler.getCatalogCoursesMeeting().
+	 */
+	@Test
+	public void testGetCatalogCoursesMeeting() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+
+		//Tuesday from 1:00PM to 2:00PM overlaps the end of CSC 116 003 and the start of CSC 216 001
+		ArrayList<Course> meeting = ws.getCatalogCoursesMeeting("T", 1300, 1400);
+		assertEquals(2, meeting.size());
+		assertTrue(meeting.contains(ws.getCourseFromCatalog("CSC 116", "003")));
+		assertTrue(meeting.contains(ws.getCourseFromCatalog(NAME, "001")));
+
+		//A single minute, and a course meeting on both days is only returned once
+		meeting = ws.getCatalogCoursesMeeting("MW", 1500, 1500);
+		assertEquals(1, meeting.size());
+		assertEquals(ws.getCourseFromCatalog("CSC 217", "223"), meeting.get(0));
+		assertEquals(2, ws.getCatalogCoursesMeeting("MWF", 1000, 1000).size());
+		assertEquals(0, ws.getCatalogCoursesMeeting("F", 1500, 1500).size());
+		assertEquals(0, ws.getCatalogCoursesMeeting("A", 0, 2359).size());
+
+		try {
+			ws.getCatalogCoursesMeeting("M", 1400, 1300);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days and times.", e.getMessage());
+		}
+		try {
+			ws.getCatalogCoursesMeeting("M", 1360, 1400);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid meeting days and times.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Test WolfScheduler.getAddableCourseCatalog() and isAddable().
+	 */
+	@Test
+	public void testGetAddableCourseCatalog() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		assertEquals(13, ws.getAddableCourseCatalog().length);
+		
+		//CSC 217 202 blocks every CSC 217 section and the three sections it conflicts with
+		assertTrue(ws.addCourseToSchedule("CSC 217", "202"));
+		String[][] addable = ws.getAddableCourseCatalog();
+		assertEquals(6, addable.length);
+		assertEquals("CSC 116", addable[0][0]);
+		assertEquals("003", addable[0][1]);
+		assertFalse(ws.isAddable("CSC 217", "202"));
+		assertFalse(ws.isAddable("CSC 217", "601"));
+		assertFalse(ws.isAddable("CSC 230", "001"));
+		assertTrue(ws.isAddable("CSC 226", "001"));
+		assertFalse(ws.isAddable("CSC 492", "001"));
+		
+		//The event blocks CSC 316 001, and CSC 217 211 stays blocked by the course too
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(5, ws.getAddableCourseCatalog().length);
+		assertFalse(ws.isAddable("CSC 316", "001"));
+		
+		//Only the event is left, blocking CSC 316 001 and CSC 217 211
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertEquals(11, ws.getAddableCourseCatalog().length);
+		assertFalse(ws.isAddable("CSC 217", "211"));
+		assertTrue(ws.isAddable("CSC 217", "202"));
+		
+		ws.resetSchedule();
+		assertEquals(13, ws.getAddableCourseCatalog().length);
+	}
+	
+	/**
+	 * Test that the courses that can be added stay the same as checking every course
+	 * against the schedule, over random changes to the schedule.
+	 * @throws IOException if the catalog cannot be written
+	 */
+	@Test
+	public void testAddableMatchesSchedule() throws IOException {
+		Random random = new Random(216);
+		String[] days = {"MW", "TH", "MWF", "M", "F", "A"};
+		File file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+		StringBuilder lines = new StringBuilder();
+		for (int i = 0; i < 300; i++) {
+			String meetingDays = days[random.nextInt(days.length)];
+			lines.append("CSC ").append(100 + i / 10).append(",Title,").append(String.format("%03d", i % 10)).append(",3,id,").append(meetingDays);
+			if (!"A".equals(meetingDays)) {
+				int start = 800 + random.nextInt(10) * 100 + random.nextInt(2) * 30;
+				lines.append(',').append(start).append(',').append(start + 115);
+			}
+			lines.append('\n');
+		}
+		Files.write(file.toPath(), lines.toString().getBytes());
+		
+		WolfScheduler ws = new WolfScheduler(file.getPath());
+		//Mirror of the activities in the schedule, in the same order
+		ArrayList<Activity> schedule = new ArrayList<Activity>();
+		for (int step = 0; step < 300; step++) {
+			int action = random.nextInt(10);
+			if (action < 5) {
+				String[] course = ws.getCourseCatalog()[random.nextInt(300)];
+				try {
+					ws.addCourseToSchedule(course[0], course[1]);
+					schedule.add(ws.getCourseFromCatalog(course[0], course[1]));
+				} catch (IllegalArgumentException e) {
+					//The course duplicates or conflicts with the schedule
+				}
+			} else if (action < 7) {
+				int start = 800 + random.nextInt(10) * 100;
+				Event event = new Event("Event " + step, days[random.nextInt(days.length - 1)] + "S", start, start + 45, "");
+				try {
+					ws.addEventToSchedule(event.getTitle(), event.getMeetingDays(), event.getStartTime(), event.getEndTime(), "");
+					schedule.add(event);
+				} catch (IllegalArgumentException e) {
+					//The event conflicts with the schedule
+				}
+			} else if (action < 9) {
+				int idx = random.nextInt(schedule.size() + 1);
+				if (ws.removeActivityFromSchedule(idx)) {
+					schedule.remove(idx);
+				}
+			} else {
+				ws.resetSchedule();
+				schedule.clear();
+			}
+			
+			int addable = 0;
+			for (String[] course : ws.getCourseCatalog()) {
+				Course c = ws.getCourseFromCatalog(course[0], course[1]);
+				boolean expected = true;
+				for (Activity a : schedule) {
+					if (a.isDuplicate(c) || c.conflictsWith(a)) {
+						expected = false;
+					}
+				}
+				assertEquals(expected, ws.isAddable(c.getName(), c.getSection()));
+				if (expected) {
+					addable++;
+				}
+			}
+			assertEquals(addable, ws.getAddableCourseCatalog().length);
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler.generateSchedules().
+	 */
+	@Test
+	public void testGenerateSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		
+		//CSC 116 001 and 002 both conflict with CSC 217 202 on Mondays
+		List<ArrayList<Course>> schedules = ws.generateSchedules(Arrays.asList("CSC 116", "CSC 217"), false)
+				.collect(Collectors.toList());
+		assertEquals(10, schedules.size());
+		for (ArrayList<Course> s : schedules) {
+			assertEquals(2, s.size());
+			assertEquals("CSC 116", s.get(0).getName());
+			assertEquals("CSC 217", s.get(1).getName());
+			assertFalse(s.get(0).conflictsWith(s.get(1)));
+		}
+		
+		//Repeated course names are ignored
+		assertEquals(10, ws.generateSchedules(Arrays.asList("CSC 116", "CSC 217", "CSC 116"), false).count());
+		
+		//A course that is not in the catalog leaves no schedules
+		assertEquals(0, ws.generateSchedules(Arrays.asList("CSC 116", "CSC 492"), false).count());
+		
+		//Events only limit the schedules when they are included
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertEquals(10, ws.generateSchedules(Arrays.asList("CSC 116", "CSC 217"), false).count());
+		schedules = ws.generateSchedules(Arrays.asList("CSC 116", "CSC 217"), true).collect(Collectors.toList());
+		assertEquals(7, schedules.size());
+		for (ArrayList<Course> s : schedules) {
+			assertNotEquals("211", s.get(1).getSection());
+		}
+	}
+	
+	/**
+	 * Test WolfScheduler.generateSchedulesInParallel().
+	 */
+	@Test
+	public void testGenerateSchedulesInParallel() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		List<String> names = Arrays.asList("CSC 116", "CSC 216", "CSC 217");
+		
+		//A search that runs to the end matches the sequential search
+		List<ArrayList<Course>> expected = ws.generateSchedules(names, false).collect(Collectors.toList());
+		assertEquals(expected, ws.generateSchedulesInParallel(names, false, Integer.MAX_VALUE, null));
+		
+		//The search stops once enough schedules are found
+		assertEquals(5, ws.generateSchedulesInParallel(names, false, 5, null).size());
+		
+		//A cancelled search finds nothing
+		assertEquals(0, ws.generateSchedulesInParallel(names, false, Integer.MAX_VALUE, () -> true).size());
+	}
+	
+	/**
+	 * Test WolfScheduler.findBestSchedules().
+	 */
+	@Test
+	public void testFindBestSchedules() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		List<String> names = Arrays.asList("CSC 116", "CSC 217");
+		
+		//CSC 116 001 with CSC 217 223 is the first schedule found that meets on only two days
+		ArrayList<ArrayList<Course>> best = ws.findBestSchedules(names, false, 3, ScheduleScorer.fewestDays());
+		assertEquals(3, best.size());
+		assertEquals("001", best.get(0).get(0).getSection());
+		assertEquals("223", best.get(0).get(1).getSection());
+		for (ArrayList<Course> schedule : best) {
+			assertEquals(2.0, ScheduleScorer.fewestDays().score(schedule), 0);
+		}
+		
+		//Only schedules that exist are returned
+		assertEquals(10, ws.findBestSchedules(names, false, 20, ScheduleScorer.minimumGaps()).size());
+		
+		try {
+			ws.findBestSchedules(names, false, 1, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid scorer.", e.getMessage());
+		}
 	}
 	
 	/**
@@ -241,6 +518,116 @@ public class WolfSchedulerTest {
 		assertEquals(1, ws.getFullScheduledActivities().length);
 	}
 	
+	/**
+	 * Test WolfScheduler.addScheduleListener() and removeScheduleListener()
+	 */
+	@Test
+	public void testScheduleListener() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ArrayList<String> events = new ArrayList<String>();
+		ScheduleListener listener = new ScheduleListener() {
+			@Override
+			public void activityAdded(int index, Activity activity) {
+				events.add("added " + index + " " + activity.getTitle());
+			}
+
+			@Override
+			public void activityRemoved(int index, Activity activity) {
+				events.add("removed " + index + " " + activity.getTitle());
+			}
+
+			@Override
+			public void scheduleReset(ArrayList<Activity> removed) {
+				events.add("reset " + removed.size());
+			}
+
+			@Override
+			public void titleChanged(String title) {
+				events.add("title " + title);
+			}
+		};
+		ws.addScheduleListener(listener);
+		
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule(EVENT_TITLE, EVENT_MEETING_DAYS, EVENT_START_TIME, EVENT_END_TIME, EVENT_DETAILS);
+		assertTrue(ws.addCourseToSchedule("CSC 226", "001"));
+		//Changes that fail are not published
+		assertFalse(ws.addCourseToSchedule("CSC 492", "001"));
+		try {
+			ws.addCourseToSchedule(NAME, "002");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals(3, events.size());
+		}
+		assertFalse(ws.removeActivityFromSchedule(3));
+		assertTrue(ws.removeActivityFromSchedule(1));
+		ws.resetSchedule();
+		ws.setScheduleTitle("Fall");
+		//Setting the same title again is not a change
+		ws.setScheduleTitle("Fall");
+		assertEquals(Arrays.asList("added 0 " + TITLE, "added 1 " + EVENT_TITLE,
+				"added 2 Discrete Mathematics for Computer Scientists", "removed 1 " + EVENT_TITLE, "reset 2",
+				"title Fall"), events);
+		
+		assertTrue(ws.removeScheduleListener(listener));
+		assertFalse(ws.removeScheduleListener(listener));
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		assertEquals(6, events.size());
+		
+		try {
+			ws.addScheduleListener(null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Invalid listener.", e.getMessage());
+		}
+	}
+
+	/**
+	 * Test WolfScheduler.reloadCatalog()
+	 * @throws IOException if the catalog file cannot be written
+	 */
+	@Test
+	public void testReloadCatalog() throws IOException {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		int[] reloads = new int[1];
+		ws.addScheduleListener(new ScheduleListener() {
+			@Override
+			public void catalogReloaded() {
+				reloads[0]++;
+			}
+		});
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		
+		//The new catalog moves the scheduled section, which stays at its old time in the schedule
+		File file = File.createTempFile("catalog", ".txt");
+		file.deleteOnExit();
+		Files.write(file.toPath(), ("CSC 216,Software Development Fundamentals,001,3,sesmith5,MW,0800,0915\n"
+				+ "CSC 216,Software Development Fundamentals,002,3,ixdoming,MW,1330,1445\n"
+				+ "CSC 230,C and Software Tools,001,3,dbsturgi,TH,1400,1515\n"
+				+ "CSC 316,Data Structures and Algorithms,001,3,jtking,TH,0830,0945\n").getBytes());
+		ws.reloadCatalog(file.getPath());
+		assertEquals(1, reloads[0]);
+		assertEquals(4, ws.getCourseCatalog().length);
+		assertEquals("TH 1:30PM-2:45PM", ws.getScheduledActivities()[0][3]);
+		assertFalse(ws.isAddable(NAME, "001"));
+		assertFalse(ws.isAddable(NAME, "002"));
+		assertFalse(ws.isAddable("CSC 230", "001"));
+		assertTrue(ws.isAddable("CSC 316", "001"));
+		assertEquals(1, ws.getAddableCourseCatalog().length);
+		
+		assertTrue(ws.removeActivityFromSchedule(0));
+		assertEquals(4, ws.getAddableCourseCatalog().length);
+		
+		try {
+			ws.reloadCatalog("test-files/no_such_file.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("Cannot find file.", e.getMessage());
+			assertEquals(4, ws.getCourseCatalog().length);
+			assertEquals(1, reloads[0]);
+		}
+	}
+
 	/**
 	 * Test WolfScheduler.resetSchedule()
 	 */
@@ -366,6 +753,51 @@ public class WolfSchedulerTest {
 		assertEquals("TH 11:20AM-1:10PM", schedule[3][3]);
 	}
 	
+	/**
+	 * Test the row views of WolfScheduler: getCourseCatalogRows(), getAddableCourseCatalogRows(),
+	 * getScheduledActivityRows(), and getFullScheduledActivityRows().
+	 */
+	@Test
+	public void testRows() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		List<List<String>> catalogRows = ws.getCourseCatalogRows();
+		String[][] catalog = ws.getCourseCatalog();
+		assertEquals(catalog.length, catalogRows.size());
+		for (int i = 0; i < catalog.length; i++) {
+			assertEquals(Arrays.asList(catalog[i]), catalogRows.get(i));
+			//Reading a row again does not build it again
+			assertSame(catalogRows.get(i), ws.getCourseCatalogRows().get(i));
+		}
+		
+		//The schedule rows follow the schedule as it changes
+		List<List<String>> scheduleRows = ws.getScheduledActivityRows();
+		List<List<String>> fullRows = ws.getFullScheduledActivityRows();
+		assertEquals(0, scheduleRows.size());
+		assertTrue(ws.addCourseToSchedule(NAME, SECTION));
+		ws.addEventToSchedule("Lunch", "MWF", 1200, 1300, "Food");
+		assertEquals(2, scheduleRows.size());
+		assertEquals(Arrays.asList(ws.getScheduledActivities()[1]), scheduleRows.get(1));
+		assertEquals(Arrays.asList(ws.getFullScheduledActivities()[0]), fullRows.get(0));
+		assertSame(ws.getCourseFromCatalog(NAME, SECTION).getShortDisplay(), scheduleRows.get(0));
+		
+		String[][] addable = ws.getAddableCourseCatalog();
+		List<List<String>> addableRows = ws.getAddableCourseCatalogRows();
+		assertEquals(addable.length, addableRows.size());
+		for (int i = 0; i < addable.length; i++) {
+			assertEquals(Arrays.asList(addable[i]), addableRows.get(i));
+		}
+		
+		ws.resetSchedule();
+		assertEquals(0, scheduleRows.size());
+		assertEquals(0, fullRows.size());
+		try {
+			scheduleRows.set(0, catalogRows.get(0));
+			fail();
+		} catch (UnsupportedOperationException e) {
+			assertEquals(0, scheduleRows.size());
+		}
+	}
+	
 	/**
 	 * Test WolfScheduler.getFullScheduledCourses()
 	 */
@@ -454,6 +886,28 @@ public class WolfSchedulerTest {
 		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
 	}
 	
+	/**
+	 * Test WolfScheduler.exportScheduleAtomically().
+	 */
+	@Test
+	public void testExportScheduleAtomically() {
+		WolfScheduler ws = new WolfScheduler(validTestFile);
+		ws.exportScheduleAtomically("test-files/actual_empty_export.txt");
+		checkFiles("test-files/expected_empty_export.txt", "test-files/actual_empty_export.txt");
+		
+		ws.addCourseToSchedule("CSC 216", "002");
+		ws.addCourseToSchedule("CSC 226", "001");
+		ws.exportScheduleAtomically("test-files/actual_schedule_export.txt");
+		checkFiles("test-files/expected_schedule_export.txt", "test-files/actual_schedule_export.txt");
+		
+		try {
+			ws.exportScheduleAtomically("test-files/no_such_directory/schedule.txt");
+			fail();
+		} catch (IllegalArgumentException e) {
+			assertEquals("The file cannot be saved.", e.getMessage());
+		}
+	}
+	
 	/**
 	 * Helper method to compare two files for the same contents
 	 * @param expFile expected output